@@ -0,0 +1,43 @@
+package mate.academy.bookstore.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import mate.academy.bookstore.filter.CachedResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String BOOKS_CACHE = "books";
+    public static final String CATALOG_RESPONSES_CACHE = "catalogResponses";
+    public static final String BOOK_COUNTS_CACHE = "bookCounts";
+
+    /**
+     * Caffeine keeps the hottest entries by frequency (W-TinyLFU) and records
+     * hit/miss/eviction statistics, which actuator exposes as cache metrics.
+     * Evictions are deferred until the surrounding transaction commits so a
+     * concurrent reader can't re-cache a row that is about to change.
+     * Catalog responses are bounded by their size in bytes rather than count.
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.books.spec}") String booksSpec,
+            @Value("${cache.catalog-responses.spec}") String catalogResponsesSpec,
+            @Value("${cache.book-counts.spec}") String bookCountsSpec
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(BOOKS_CACHE, Caffeine.from(booksSpec).build());
+        cacheManager.registerCustomCache(CATALOG_RESPONSES_CACHE,
+                Caffeine.from(catalogResponsesSpec)
+                        .weigher((key, value) -> ((CachedResponse) value).weight())
+                        .build());
+        cacheManager.registerCustomCache(BOOK_COUNTS_CACHE, Caffeine.from(bookCountsSpec).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -8,27 +8,54 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.io.InputStream;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import mate.academy.bookstore.dto.book.BookBatchDto;
+import mate.academy.bookstore.dto.book.BookCountDto;
+import mate.academy.bookstore.dto.book.BookCursorPageDto;
 import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.dto.book.BookFacetedSearchDto;
+import mate.academy.bookstore.dto.book.BookImportResultDto;
 import mate.academy.bookstore.dto.book.BookSearchParameters;
+import mate.academy.bookstore.dto.book.BookSelectionDto;
+import mate.academy.bookstore.dto.book.BookSuggestionDto;
+import mate.academy.bookstore.dto.book.BulkCategoryAssignRequestDto;
+import mate.academy.bookstore.dto.book.BulkOperationResultDto;
+import mate.academy.bookstore.dto.book.BulkPriceChangeRequestDto;
 import mate.academy.bookstore.dto.book.CreateBookRequestDto;
+import mate.academy.bookstore.dto.book.PatchBookRequestDto;
+import mate.academy.bookstore.service.BookBulkService;
+import mate.academy.bookstore.service.BookExportService;
+import mate.academy.bookstore.service.BookImportService;
 import mate.academy.bookstore.service.BookService;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Book Store", description = "Endpoints for managing books")
 @RequiredArgsConstructor
@@ -37,6 +64,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/books")
 public class BookController {
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final BookBulkService bookBulkService;
 
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @Operation(summary = "Get all books with pagination and sorting")
@@ -49,17 +79,47 @@ public class BookController {
         return bookService.findAll(pageable);
     }
 
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Get several books by their IDs",
+            description = "Books are returned in the order of the requested ids; ids of "
+                    + "books that don't exist are listed in missingIds.")
+    @GetMapping(params = "ids")
+    public BookBatchDto getBooksByIds(
+            @RequestParam @NotEmpty @Size(max = 100) List<@Positive Long> ids
+    ) {
+        return bookService.findAllByIds(ids);
+    }
+
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Get all books page by page using a continuation cursor",
+            description = "Books are ordered by title, author and id. Pass the returned "
+                    + "nextCursor to get the following page; it is null on the last page.")
+    @GetMapping("/cursor")
+    public BookCursorPageDto getAllByCursor(
+            @Parameter(description = "Continuation cursor from the previous page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive @Max(100) int size
+    ) {
+        return bookService.findAll(cursor, size);
+    }
+
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @Operation(summary = "Get a book by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found the book",
                     content = { @Content(mediaType = "application/json",
                             schema = @Schema(implementation = BookDto.class)) }),
+            @ApiResponse(responseCode = "304", description = "Book not modified since the "
+                    + "ETag sent in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "404", description = "Book not found",
                     content = @Content) })
     @GetMapping("/{id}")
-    public BookDto getBookById(@PathVariable @Positive Long id) {
-        return bookService.findById(id);
+    public BookDto getBookById(@PathVariable @Positive Long id, WebRequest request) {
+        BookDto book = bookService.findById(id);
+        if (request.checkNotModified(String.valueOf(book.getVersion()))) {
+            return null;
+        }
+        return book;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -70,6 +130,33 @@ public class BookController {
         return bookService.save(bookDto);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import books from a CSV or NDJSON file",
+            description = "Rows are read as a stream and written in batches. CSV needs a "
+                    + "header row with the create-book field names; categoryIds are "
+                    + "separated by ';'. Books whose ISBN already exists are skipped, invalid "
+                    + "rows are reported with their row number.")
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public BookImportResultDto importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        if ("csv".equals(contentType.getSubtype())) {
+            return bookImportService.importCsv(body);
+        }
+        return bookImportService.importNdjson(body);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export the whole catalog as NDJSON",
+            description = "Streams one book per line, ordered by id.")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=books.ndjson")
+                .body(bookExportService::exportNdjson);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete a book by its ID")
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -86,8 +173,51 @@ public class BookController {
         return bookService.update(id, bookDto);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Update some fields of a book by its ID",
+            description = "Only the fields present in the body are changed; categoryIds, "
+                    + "when present, replaces the categories of the book.")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PatchMapping("/{id}")
+    public void patchBook(@PathVariable @Positive Long id,
+                          @RequestBody @Valid PatchBookRequestDto requestDto) {
+        bookService.patch(id, requestDto);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Change the price of many books by a percentage",
+            description = "Books are selected by bookIds or by categoryId. Prices are "
+                    + "rounded to cents; affected is the number of books repriced.")
+    @PostMapping("/bulk/price")
+    public BulkOperationResultDto changePrices(
+            @RequestBody @Valid BulkPriceChangeRequestDto requestDto
+    ) {
+        return bookBulkService.changePrices(requestDto);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Add a category to many books",
+            description = "Books are selected by bookIds or by categoryId; affected is the "
+                    + "number of books that didn't have the target category yet.")
+    @PostMapping("/bulk/category")
+    public BulkOperationResultDto assignCategory(
+            @RequestBody @Valid BulkCategoryAssignRequestDto requestDto
+    ) {
+        return bookBulkService.assignCategory(requestDto);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Delete many books by their IDs or category")
+    @PostMapping("/bulk/delete")
+    public BulkOperationResultDto deleteBooks(@RequestBody @Valid BookSelectionDto selection) {
+        return bookBulkService.delete(selection);
+    }
+
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    @Operation(summary = "Search for books with parameters")
+    @Operation(summary = "Search for books with parameters",
+            description = "The optional free-text query matches words in title, author and "
+                    + "description and orders results by relevance. It supports \"phrases\", "
+                    + "prefix*, | for OR and - for NOT.")
     @GetMapping("/search")
     public List<BookDto> searchBooks(BookSearchParameters searchParameters,
                                      @Parameter(description = "Pagination and sorting information")
@@ -95,4 +225,51 @@ public class BookController {
                                      Pageable pageable) {
         return bookService.search(searchParameters, pageable);
     }
+
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Search for books and count matches per category, author and price band",
+            description = "Each facet is counted with every filter except its own applied. "
+                    + "Books are ordered by relevance with a query and by id otherwise; "
+                    + "sorting parameters are ignored. Only the top authors are listed.")
+    @GetMapping("/search/facets")
+    public BookFacetedSearchDto searchBooksFaceted(
+            BookSearchParameters searchParameters,
+            @Parameter(description = "Pagination information")
+            @PageableDefault(size = 10) Pageable pageable
+    ) {
+        return bookService.searchFaceted(searchParameters, pageable);
+    }
+
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Count books matching the search parameters",
+            description = "Without parameters returns the size of the whole catalog. Counts "
+                    + "are cached until the next book or category change.")
+    @GetMapping("/count")
+    public BookCountDto count(BookSearchParameters searchParameters) {
+        return new BookCountDto(bookService.count(searchParameters));
+    }
+
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Search for books with parameters using a continuation cursor")
+    @GetMapping("/search/cursor")
+    public BookCursorPageDto searchBooksByCursor(
+            BookSearchParameters searchParameters,
+            @Parameter(description = "Continuation cursor from the previous page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive @Max(100) int size
+    ) {
+        return bookService.search(searchParameters, cursor, size);
+    }
+
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Suggest book titles and authors starting with a prefix",
+            description = "Case-insensitive; suggestions are ordered by the number of "
+                    + "matching books.")
+    @GetMapping("/suggest")
+    public List<BookSuggestionDto> suggest(
+            @RequestParam @NotBlank @Size(max = 255) String prefix,
+            @RequestParam(defaultValue = "10") @Positive @Max(10) int limit
+    ) {
+        return bookService.suggest(prefix, limit);
+    }
 }
@@ -1,6 +1,7 @@
 package mate.academy.bookstore.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,6 +14,8 @@ import mate.academy.bookstore.dto.book.BookDtoWithoutCategoryIds;
 import mate.academy.bookstore.dto.category.CategoryDto;
 import mate.academy.bookstore.service.BookService;
 import mate.academy.bookstore.service.CategoryService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -25,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Category", description = "Endpoints for managing categories")
 @RestController
@@ -60,13 +64,18 @@ public class CategoryController {
             @ApiResponse(responseCode = "200", description = "Categories retrieved",
                     content = { @Content(mediaType = "application/json",
                             schema = @Schema(implementation = CategoryDto.class)) }),
+            @ApiResponse(responseCode = "304", description = "Categories not modified since "
+                    + "the ETag sent in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden",
                     content = @Content)
     })
     @GetMapping
-    public List<CategoryDto> getAll() {
+    public List<CategoryDto> getAll(WebRequest request) {
+        if (request.checkNotModified(categoryService.getListVersion())) {
+            return null;
+        }
         return categoryService.findAll();
     }
 
@@ -76,6 +85,8 @@ public class CategoryController {
             @ApiResponse(responseCode = "200", description = "Category retrieved",
                     content = { @Content(mediaType = "application/json",
                             schema = @Schema(implementation = CategoryDto.class)) }),
+            @ApiResponse(responseCode = "304", description = "Category not modified since "
+                    + "the ETag sent in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden",
@@ -84,7 +95,10 @@ public class CategoryController {
                     content = @Content)
     })
     @GetMapping("/{id}")
-    public CategoryDto getCategoryById(@PathVariable Long id) {
+    public CategoryDto getCategoryById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(String.valueOf(categoryService.getVersion(id)))) {
+            return null;
+        }
         return categoryService.getById(id);
     }
 
@@ -141,7 +155,12 @@ public class CategoryController {
                     content = @Content)
     })
     @GetMapping("/{id}/books")
-    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(@PathVariable Long id) {
-        return bookService.findAllByCategoryId(id);
+    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(
+            @PathVariable Long id,
+            @Parameter(description = "Pagination and sorting information")
+            @PageableDefault(size = 10, sort = {"title", "author"})
+            Pageable pageable
+    ) {
+        return bookService.findAllByCategoryId(id, pageable);
     }
 }
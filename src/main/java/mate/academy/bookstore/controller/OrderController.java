@@ -1,36 +1,44 @@
 package mate.academy.bookstore.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import mate.academy.bookstore.dto.order.CreateOrderRequestDto;
+import mate.academy.bookstore.dto.order.OrderCursorPageDto;
 import mate.academy.bookstore.dto.order.OrderDto;
+import mate.academy.bookstore.dto.order.OrderRequestDto;
 import mate.academy.bookstore.dto.order.UpdateOrderRequestDto;
 import mate.academy.bookstore.dto.orderitem.OrderItemDto;
+import mate.academy.bookstore.model.Order;
 import mate.academy.bookstore.model.User;
 import mate.academy.bookstore.service.OrderService;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @Tag(name = "Orders", description = "Endpoints for managing orders")
 @RestController
+@Validated
 @RequestMapping("/orders")
 @RequiredArgsConstructor
 public class OrderController {
@@ -57,23 +65,74 @@ public class OrderController {
     }
 
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    @Operation(summary = "Get all orders for the current user")
+    @Operation(summary = "Queue an order from the cart",
+            description = "Empties the cart and returns the id the order will have; "
+                    + "poll GET /orders/requests/{orderId} until it is COMPLETED")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Orders retrieved",
+            @ApiResponse(responseCode = "202", description = "Order queued",
                     content = { @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = OrderDto.class)) }),
+                            schema = @Schema(implementation = OrderRequestDto.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content)
+    })
+    @PostMapping("/requests")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public OrderRequestDto requestOrder(
+            @Valid @RequestBody CreateOrderRequestDto createOrderRequestDto) {
+        Long userId = getCurrentUserId();
+        return orderService.requestOrder(userId, createOrderRequestDto);
+    }
+
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Get the status of a queued order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status retrieved",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OrderRequestDto.class)) }),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden",
                     content = @Content),
-            @ApiResponse(responseCode = "404", description = "Orders not found",
+            @ApiResponse(responseCode = "404", description = "Order request not found",
+                    content = @Content)
+    })
+    @GetMapping("/requests/{orderId}")
+    @ResponseStatus(HttpStatus.OK)
+    public OrderRequestDto getOrderRequest(@PathVariable Long orderId) {
+        Long userId = getCurrentUserId();
+        return orderService.getOrderRequest(userId, orderId);
+    }
+
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Get the orders of the current user page by page",
+            description = "Orders are returned newest first. Pass the returned nextCursor "
+                    + "to get the following page; it is null on the last page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OrderCursorPageDto.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden",
                     content = @Content)
     })
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<OrderDto> getOrders() {
+    public OrderCursorPageDto getOrders(
+            @Parameter(description = "Only orders with this status")
+            @RequestParam(required = false) Order.Status status,
+            @Parameter(description = "Continuation cursor from the previous page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Positive @Max(100) int size
+    ) {
         Long userId = getCurrentUserId();
-        return orderService.getOrders(userId);
+        return orderService.getOrders(userId, status, cursor, size);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
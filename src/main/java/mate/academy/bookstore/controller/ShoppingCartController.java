@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import mate.academy.bookstore.dto.cartitem.CartBatchRequestDto;
 import mate.academy.bookstore.dto.cartitem.CreateCartItemRequestDto;
 import mate.academy.bookstore.dto.cartitem.UpdateCartItemRequestDto;
 import mate.academy.bookstore.dto.shoppingcart.ShoppingCartDto;
@@ -73,6 +74,30 @@ public class ShoppingCartController {
         return shoppingCartService.addItemToCart(requestDto, userId);
     }
 
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Add, update and remove several items in one request",
+            description = "Operations are addressed by book id and applied in one "
+                    + "transaction. UPDATE sets the quantity, adding the book if it isn't "
+                    + "in the cart yet.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cart updated",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ShoppingCartDto.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Book or shopping cart not found",
+                    content = @Content)
+    })
+    @PostMapping("/batch")
+    public ShoppingCartDto applyBatch(@Valid @RequestBody CartBatchRequestDto requestDto) {
+        Long userId = getCurrentUserId();
+        return shoppingCartService.applyBatch(requestDto, userId);
+    }
+
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @Operation(summary = "Update an item in the shopping cart")
     @ApiResponses(value = {
@@ -110,7 +135,8 @@ public class ShoppingCartController {
     @DeleteMapping("/items/{cartItemId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void removeCartItem(@PathVariable Long cartItemId) {
-        shoppingCartService.removeCartItem(cartItemId);
+        Long userId = getCurrentUserId();
+        shoppingCartService.removeCartItem(cartItemId, userId);
     }
 
     private Long getCurrentUserId() {
@@ -0,0 +1,6 @@
+package mate.academy.bookstore.dto.book;
+
+import java.util.List;
+
+public record BookBatchDto(List<BookDto> books, List<Long> missingIds) {
+}
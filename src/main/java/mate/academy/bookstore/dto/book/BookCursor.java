@@ -0,0 +1,42 @@
+package mate.academy.bookstore.dto.book;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import mate.academy.bookstore.exception.InvalidCursorException;
+import mate.academy.bookstore.model.Book;
+
+/**
+ * Position of the last book on a keyset page, ordered by (title, author, id).
+ * Clients only ever see it as an opaque URL-safe token.
+ */
+public record BookCursor(String title, String author, Long id) {
+    public static BookCursor of(Book book) {
+        return new BookCursor(book.getTitle(), book.getAuthor(), book.getId());
+    }
+
+    public static BookCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            return new BookCursor(in.readUTF(), in.readUTF(), in.readLong());
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidCursorException("Invalid book cursor " + token);
+        }
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(title);
+            out.writeUTF(author);
+            out.writeLong(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+}
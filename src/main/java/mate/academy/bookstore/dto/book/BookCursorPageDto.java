@@ -0,0 +1,9 @@
+package mate.academy.bookstore.dto.book;
+
+import java.util.List;
+
+public record BookCursorPageDto(
+        List<BookDto> books,
+        String nextCursor
+) {
+}
@@ -1,5 +1,6 @@
 package mate.academy.bookstore.dto.book;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -38,4 +39,11 @@ public class BookDto {
     private String coverImage;
 
     private Set<Long> categoryIds;
+
+    /**
+     * Entity version at the time the DTO was read; cached together with the
+     * book so the ETag of a cache hit needs no query. Not part of the JSON.
+     */
+    @JsonIgnore
+    private Long version;
 }
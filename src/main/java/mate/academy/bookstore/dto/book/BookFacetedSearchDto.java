@@ -0,0 +1,12 @@
+package mate.academy.bookstore.dto.book;
+
+import java.util.List;
+
+public record BookFacetedSearchDto(
+        List<BookDto> books,
+        int total,
+        List<CategoryFacetDto> categories,
+        List<AuthorFacetDto> authors,
+        List<PriceBandFacetDto> priceBands
+) {
+}
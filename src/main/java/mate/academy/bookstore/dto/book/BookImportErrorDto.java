@@ -0,0 +1,7 @@
+package mate.academy.bookstore.dto.book;
+
+public record BookImportErrorDto(
+        long row,
+        String message
+) {
+}
@@ -0,0 +1,11 @@
+package mate.academy.bookstore.dto.book;
+
+import java.util.List;
+
+public record BookImportResultDto(
+        long imported,
+        long skipped,
+        long failed,
+        List<BookImportErrorDto> errors
+) {
+}
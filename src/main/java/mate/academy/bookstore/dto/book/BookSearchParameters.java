@@ -1,4 +1,34 @@
 package mate.academy.bookstore.dto.book;
 
-public record BookSearchParameters(String[] titles, String[] authors) {
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Objects;
+
+public record BookSearchParameters(
+        String[] titles,
+        String[] authors,
+        String query,
+        Long[] categoryIds,
+        BigDecimal minPrice,
+        BigDecimal maxPrice
+) {
+    /**
+     * Key of the exact-match filters that doesn't depend on the order the
+     * values were passed in. Null values, as bound from a trailing comma,
+     * are dropped like the specification builder drops them.
+     */
+    public String filterKey() {
+        return "titles=" + sorted(titles) + ";authors=" + sorted(authors)
+                + ";categoryIds=" + sorted(categoryIds) + ";price=" + minPrice + ".." + maxPrice;
+    }
+
+    private static String sorted(Object[] values) {
+        if (values == null) {
+            return "";
+        }
+        return Arrays.toString(Arrays.stream(values)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toArray());
+    }
 }
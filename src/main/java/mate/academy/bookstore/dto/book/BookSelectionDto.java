@@ -0,0 +1,26 @@
+package mate.academy.bookstore.dto.book;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import mate.academy.bookstore.validation.ExactlyOneOf;
+
+/**
+ * Books a bulk operation applies to: either the listed ids or every book
+ * of a category.
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+@ExactlyOneOf(fields = {"bookIds", "categoryId"},
+        message = "Exactly one of bookIds or categoryId must be given")
+public class BookSelectionDto {
+    @Size(min = 1, max = 1000, message = "Between 1 and 1000 book ids can be given")
+    private Set<@Positive Long> bookIds;
+
+    @Positive(message = "Category id must be greater than zero")
+    private Long categoryId;
+}
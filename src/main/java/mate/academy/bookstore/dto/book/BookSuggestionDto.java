@@ -0,0 +1,12 @@
+package mate.academy.bookstore.dto.book;
+
+public record BookSuggestionDto(
+        String text,
+        Type type,
+        int bookCount
+) {
+    public enum Type {
+        TITLE,
+        AUTHOR
+    }
+}
@@ -0,0 +1,16 @@
+package mate.academy.bookstore.dto.book;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class BulkCategoryAssignRequestDto extends BookSelectionDto {
+    @NotNull(message = "Target category id cannot be null")
+    @Positive(message = "Target category id must be greater than zero")
+    private Long targetCategoryId;
+}
@@ -0,0 +1,20 @@
+package mate.academy.bookstore.dto.book;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class BulkPriceChangeRequestDto extends BookSelectionDto {
+    @NotNull(message = "Percent cannot be null")
+    @DecimalMin(value = "-100", inclusive = false,
+            message = "Percent must be greater than -100")
+    @DecimalMax(value = "1000", message = "Percent can be at most 1000")
+    private BigDecimal percent;
+}
@@ -0,0 +1,4 @@
+package mate.academy.bookstore.dto.book;
+
+public record CategoryFacetDto(Long categoryId, int count) {
+}
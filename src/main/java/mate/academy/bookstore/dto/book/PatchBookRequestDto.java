@@ -0,0 +1,36 @@
+package mate.academy.bookstore.dto.book;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.util.Set;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Fields of a book to change; those left null keep their current value.
+ */
+@Data
+@Accessors(chain = true)
+public class PatchBookRequestDto {
+    @Size(min = 1, max = 255, message = "Title must be between 1 and 255 characters long")
+    private String title;
+
+    @Size(min = 1, max = 255, message = "Author must be between 1 and 255 characters long")
+    private String author;
+
+    @Size(min = 1, max = 13, message = "ISBN must be between 1 and 13 characters long")
+    private String isbn;
+
+    @Positive(message = "Price must be greater than zero")
+    private BigDecimal price;
+
+    @Size(max = 255, message = "Description can be at most 255 characters long")
+    private String description;
+
+    @Size(min = 1, max = 255,
+            message = "Cover Image URL must be between 1 and 255 characters long")
+    private String coverImage;
+
+    private Set<Long> categoryIds;
+}
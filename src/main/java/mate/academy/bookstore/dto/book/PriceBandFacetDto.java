@@ -0,0 +1,10 @@
+package mate.academy.bookstore.dto.book;
+
+import java.math.BigDecimal;
+
+/**
+ * Books priced from {@code from} (inclusive) up to {@code to} (exclusive);
+ * {@code from} is null for the lowest band and {@code to} for the highest.
+ */
+public record PriceBandFacetDto(BigDecimal from, BigDecimal to, int count) {
+}
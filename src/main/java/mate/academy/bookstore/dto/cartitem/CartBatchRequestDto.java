@@ -0,0 +1,18 @@
+package mate.academy.bookstore.dto.cartitem;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class CartBatchRequestDto {
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid CartItemOperationDto> operations;
+}
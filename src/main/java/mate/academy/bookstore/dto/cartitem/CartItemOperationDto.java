@@ -0,0 +1,40 @@
+package mate.academy.bookstore.dto.cartitem;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * One change to the cart, addressed by book: ADD raises the quantity,
+ * UPDATE sets it and REMOVE drops the item.
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+public class CartItemOperationDto {
+    @NotNull
+    private Action action;
+
+    @NotNull
+    @Positive
+    private Long bookId;
+
+    @Positive
+    private Integer quantity;
+
+    @JsonIgnore
+    @AssertTrue(message = "quantity is required for ADD and UPDATE")
+    public boolean isQuantityPresent() {
+        return action == Action.REMOVE || quantity != null;
+    }
+
+    public enum Action {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+}
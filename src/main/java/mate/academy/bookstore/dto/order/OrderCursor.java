@@ -0,0 +1,47 @@
+package mate.academy.bookstore.dto.order;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import mate.academy.bookstore.exception.InvalidCursorException;
+import mate.academy.bookstore.model.Order;
+
+/**
+ * Position of the last order on a keyset page, ordered by (order date, id)
+ * newest first. Clients only ever see it as an opaque URL-safe token.
+ */
+public record OrderCursor(LocalDateTime orderDate, Long id) {
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getOrderDate(), order.getId());
+    }
+
+    public static OrderCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            LocalDateTime orderDate = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(),
+                    ZoneOffset.UTC);
+            return new OrderCursor(orderDate, in.readLong());
+        } catch (IllegalArgumentException | DateTimeException | IOException e) {
+            throw new InvalidCursorException("Invalid order cursor " + token);
+        }
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(orderDate.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(orderDate.getNano());
+            out.writeLong(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+}
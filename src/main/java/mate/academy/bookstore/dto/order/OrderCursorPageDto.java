@@ -0,0 +1,9 @@
+package mate.academy.bookstore.dto.order;
+
+import java.util.List;
+
+public record OrderCursorPageDto(
+        List<OrderDto> orders,
+        String nextCursor
+) {
+}
@@ -0,0 +1,6 @@
+package mate.academy.bookstore.dto.order;
+
+import mate.academy.bookstore.model.OrderRequest;
+
+public record OrderRequestDto(Long orderId, OrderRequest.Status status, String failureReason) {
+}
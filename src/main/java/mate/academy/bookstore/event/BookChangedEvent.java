@@ -0,0 +1,13 @@
+package mate.academy.bookstore.event;
+
+import java.util.Set;
+
+/**
+ * Published by the book write paths once per operation. Listeners reload
+ * the ids they care about, so a book that is no longer found was deleted.
+ */
+public record BookChangedEvent(Set<Long> bookIds) {
+    public static BookChangedEvent of(Long bookId) {
+        return new BookChangedEvent(Set.of(bookId));
+    }
+}
@@ -0,0 +1,7 @@
+package mate.academy.bookstore.event;
+
+/**
+ * Published by the category write paths once per operation.
+ */
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,12 @@
+package mate.academy.bookstore.filter;
+
+public record CachedResponse(
+        String contentType,
+        String etag,
+        byte[] body,
+        boolean gzipped
+) {
+    public int weight() {
+        return body.length + 128;
+    }
+}
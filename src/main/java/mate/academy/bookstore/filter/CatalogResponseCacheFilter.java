@@ -0,0 +1,233 @@
+package mate.academy.bookstore.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import mate.academy.bookstore.config.CacheConfig;
+import mate.academy.bookstore.event.BookChangedEvent;
+import mate.academy.bookstore.event.CategoryChangedEvent;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Serves catalog reads from already-encoded bytes. Runs after Spring Security,
+ * so the key can include the caller's roles, and answers hits without reaching
+ * the DispatcherServlet. Any book or category change drops every entry and
+ * starts a new generation; keys carry the generation the response was
+ * computed in, so a response computed while a change was committing is never
+ * read even if it is stored after the invalidation.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final Pattern CATALOG_PATH =
+            Pattern.compile("/books(/\\d+)?|/categories(/\\d+(/books)?)?");
+    private static final int GZIP_MIN_SIZE = 1024;
+    private static final String GZIP = "gzip";
+
+    private final Cache cache;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final AtomicLong generation = new AtomicLong();
+
+    public CatalogResponseCacheFilter(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.CATALOG_RESPONSES_CACHE);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !CATALOG_PATH.matcher(normalizePath(request)).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long startGeneration = generation.get();
+        String key = startGeneration + " " + cacheKey(request, authentication);
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        if (cached != null) {
+            writeHit(cached, request, response);
+            return;
+        }
+        ContentCachingResponseWrapper responseWrapper =
+                new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (responseWrapper.getStatus() == HttpStatus.OK.value()
+                && isJson(responseWrapper.getContentType())
+                && startGeneration == generation.get()) {
+            cache.put(key, toCachedResponse(responseWrapper));
+        }
+        responseWrapper.setHeader(CACHE_STATUS_HEADER, "MISS");
+        responseWrapper.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        cache.invalidate();
+    }
+
+    private String cacheKey(HttpServletRequest request, Authentication authentication) {
+        String roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+        String query = new TreeMap<>(request.getParameterMap()).entrySet().stream()
+                .map(this::encodeParameter)
+                .collect(Collectors.joining("&"));
+        return roles + " " + normalizePath(request) + "?" + query;
+    }
+
+    private String encodeParameter(Map.Entry<String, String[]> parameter) {
+        String name = URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8);
+        StringBuilder encoded = new StringBuilder();
+        for (String value : parameter.getValue()) {
+            if (!encoded.isEmpty()) {
+                encoded.append('&');
+            }
+            encoded.append(name).append('=')
+                    .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+        return encoded.toString();
+    }
+
+    private String normalizePath(HttpServletRequest request) {
+        String path = urlPathHelper.getLookupPathForRequest(request)
+                .replaceAll("/{2,}", "/");
+        return path.length() > 1 && path.endsWith("/")
+                ? path.substring(0, path.length() - 1)
+                : path;
+    }
+
+    private boolean isJson(String contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON
+                .isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    private CachedResponse toCachedResponse(ContentCachingResponseWrapper response)
+            throws IOException {
+        byte[] body = response.getContentAsByteArray();
+        boolean gzipped = body.length >= GZIP_MIN_SIZE;
+        return new CachedResponse(response.getContentType(),
+                response.getHeader(HttpHeaders.ETAG), gzipped ? gzip(body) : body, gzipped);
+    }
+
+    private void writeHit(CachedResponse cached, HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        response.setHeader(CACHE_STATUS_HEADER, "HIT");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cached.etag() != null
+                && new ServletWebRequest(request, response).checkNotModified(cached.etag())) {
+            return;
+        }
+        byte[] body = cached.body();
+        if (cached.gzipped()) {
+            if (acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            } else {
+                body = gunzip(body);
+            }
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip, either by name or through
+     * {@code *}, with a non-zero q-value.
+     */
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        double anyQuality = 0;
+        for (String coding : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+            String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+            if (GZIP.equalsIgnoreCase(parts[0])) {
+                return quality(parts) > 0;
+            }
+            if ("*".equals(parts[0])) {
+                anyQuality = quality(parts);
+            }
+        }
+        return anyQuality > 0;
+    }
+
+    private double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            if (parts[i].regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parts[i].substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzipOutput = new GZIPOutputStream(output)) {
+            gzipOutput.write(body);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream gzipInput = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return gzipInput.readAllBytes();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package mate.academy.bookstore.mapper;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import mate.academy.bookstore.config.MapperConfig;
 import mate.academy.bookstore.dto.book.BookDto;
@@ -8,18 +12,24 @@ import mate.academy.bookstore.dto.book.BookDtoWithoutCategoryIds;
 import mate.academy.bookstore.dto.book.CreateBookRequestDto;
 import mate.academy.bookstore.model.Book;
 import mate.academy.bookstore.model.Category;
-import org.mapstruct.AfterMapping;
+import mate.academy.bookstore.repository.book.BookExportRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
 @Mapper(config = MapperConfig.class)
 public interface BookMapper {
+    @Mapping(target = "categoryIds", source = "categories")
     BookDto toDto(Book book);
 
+    @Mapping(target = "version", ignore = true)
+    BookDto toDto(BookExportRow row);
+
     Book toEntity(CreateBookRequestDto requestDto);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateModelFromDto(BookDto dto, @MappingTarget Book entity);
 
     List<BookDto> map(List<Book> books);
@@ -28,12 +38,36 @@ public interface BookMapper {
 
     List<BookDtoWithoutCategoryIds> toDtoWithoutCategoriesList(List<Book> books);
 
-    @AfterMapping
-    default void setCategoryIds(@MappingTarget BookDto bookDto, Book book) {
-        if (book.getCategories() != null) {
-            bookDto.setCategoryIds(book.getCategories().stream()
-                    .map(Category::getId)
-                    .collect(Collectors.toSet()));
+    @Named("withoutCategoryIds")
+    @Mapping(target = "categoryIds", ignore = true)
+    BookDto toDtoWithoutCategoryIds(Book book);
+
+    /**
+     * Maps a page of books without touching the lazy {@code categories}
+     * collections; category ids come from a single pre-fetched lookup.
+     */
+    default List<BookDto> toDtoList(List<Book> books, Map<Long, Set<Long>> categoryIdsByBookId) {
+        return books.stream()
+                .map(book -> toDtoWithoutCategoryIds(book).setCategoryIds(
+                        categoryIdsByBookId.getOrDefault(book.getId(), new HashSet<>())))
+                .toList();
+    }
+
+    default Set<Long> toCategoryIds(String categoryIds) {
+        if (categoryIds == null) {
+            return new HashSet<>();
+        }
+        return Arrays.stream(categoryIds.split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    default Set<Long> toCategoryIds(Set<Category> categories) {
+        if (categories == null) {
+            return null;
         }
+        return categories.stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
     }
 }
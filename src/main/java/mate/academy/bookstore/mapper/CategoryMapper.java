@@ -4,11 +4,13 @@ import java.util.List;
 import mate.academy.bookstore.dto.category.CategoryDto;
 import mate.academy.bookstore.model.Category;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface CategoryMapper {
     CategoryDto toDto(Category category);
 
+    @Mapping(target = "id", ignore = true)
     Category toEntity(CategoryDto categoryDto);
 
     List<CategoryDto> toDtoList(List<Category> categories);
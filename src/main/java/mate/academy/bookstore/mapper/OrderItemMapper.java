@@ -4,6 +4,7 @@ import java.util.Set;
 import mate.academy.bookstore.config.MapperConfig;
 import mate.academy.bookstore.dto.orderitem.OrderItemDto;
 import mate.academy.bookstore.model.OrderItem;
+import mate.academy.bookstore.repository.orderitem.OrderItemView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -12,5 +13,7 @@ public interface OrderItemMapper {
     @Mapping(source = "book.id", target = "bookId")
     OrderItemDto toDto(OrderItem orderItem);
 
+    OrderItemDto toDto(OrderItemView orderItemView);
+
     Set<OrderItemDto> map(Set<OrderItem> orderItems);
 }
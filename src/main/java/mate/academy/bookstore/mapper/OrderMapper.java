@@ -1,16 +1,23 @@
 package mate.academy.bookstore.mapper;
 
-import java.util.List;
 import mate.academy.bookstore.config.MapperConfig;
 import mate.academy.bookstore.dto.order.OrderDto;
 import mate.academy.bookstore.model.Order;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(config = MapperConfig.class, uses = {OrderItemMapper.class})
 public interface OrderMapper {
     @Mapping(target = "userId", source = "user.id")
     OrderDto toDto(Order order);
 
-    List<OrderDto> map(List<Order> orders);
+    /**
+     * Leaves {@code orderItems} unset, so the lazy collection isn't loaded;
+     * callers fill it from {@code OrderItemRepository#findViewsByOrderIds}.
+     */
+    @Named("withoutItems")
+    @Mapping(target = "userId", source = "user.id")
+    @Mapping(target = "orderItems", ignore = true)
+    OrderDto toDtoWithoutItems(Order order);
 }
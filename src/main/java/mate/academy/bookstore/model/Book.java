@@ -10,6 +10,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
@@ -17,6 +19,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
@@ -25,12 +28,16 @@ import org.hibernate.annotations.SQLRestriction;
 @Setter
 @ToString(exclude = "categories")
 @EqualsAndHashCode(exclude = "categories")
-@SQLDelete(sql = "UPDATE book SET is_deleted = TRUE WHERE id=?")
+@SQLDelete(sql = "UPDATE book SET is_deleted = TRUE, deleted_at = NOW() WHERE id=? AND version=?")
 @SQLRestriction("is_deleted = FALSE")
+@DynamicUpdate
 @Table(name = "book")
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "book_id_generator")
+    @TableGenerator(name = "book_id_generator", table = "id_generators",
+            pkColumnName = "name", valueColumnName = "next_val", pkColumnValue = "book",
+            allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -53,6 +60,10 @@ public class Book {
     @Column(nullable = false)
     private boolean isDeleted = false;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "book_category",
@@ -8,6 +8,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import java.util.HashSet;
 import java.util.Set;
@@ -24,7 +26,10 @@ import lombok.ToString;
 @Table(name = "categories")
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "category_id_generator")
+    @TableGenerator(name = "category_id_generator", table = "id_generators",
+            pkColumnName = "name", valueColumnName = "next_val", pkColumnValue = "categories",
+            allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -33,6 +38,10 @@ public class Category {
 
     private String description;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToMany(mappedBy = "categories", fetch = FetchType.LAZY)
     private Set<Book> books = new HashSet<>();
 }
@@ -12,6 +12,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -28,12 +29,15 @@ import org.hibernate.annotations.SQLRestriction;
 @Setter
 @ToString(exclude = "orderItems")
 @EqualsAndHashCode(exclude = "orderItems")
-@SQLDelete(sql = "UPDATE orders SET is_deleted = TRUE WHERE id=?")
+@SQLDelete(sql = "UPDATE orders SET is_deleted = TRUE, deleted_at = NOW() WHERE id=?")
 @SQLRestriction("is_deleted = FALSE")
 @Table(name = "orders")
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id_generator")
+    @TableGenerator(name = "order_id_generator", table = "id_generators",
+            pkColumnName = "name", valueColumnName = "next_val", pkColumnValue = "orders",
+            allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
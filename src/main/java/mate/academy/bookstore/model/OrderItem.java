@@ -20,7 +20,7 @@ import org.hibernate.annotations.SQLRestriction;
 @Getter
 @Setter
 @ToString
-@SQLDelete(sql = "UPDATE order_items SET is_deleted = TRUE WHERE id=?")
+@SQLDelete(sql = "UPDATE order_items SET is_deleted = TRUE, deleted_at = NOW() WHERE id=?")
 @SQLRestriction("is_deleted = FALSE")
 @Table(name = "order_items")
 public class OrderItem {
@@ -0,0 +1,61 @@
+package mate.academy.bookstore.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A checkout waiting for the order workers. The id comes from the orders
+ * generator and becomes the id of the order, so it can be handed to the
+ * client before the order exists.
+ */
+@Entity
+@Getter
+@Setter
+@ToString(exclude = "user")
+@Table(name = "order_requests")
+public class OrderRequest {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_request_id_generator")
+    @TableGenerator(name = "order_request_id_generator", table = "id_generators",
+            pkColumnName = "name", valueColumnName = "next_val", pkColumnValue = "orders",
+            allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String shippingAddress;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    private String failureReason;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+
+    public enum Status {
+        QUEUED,
+        COMPLETED,
+        FAILED
+    }
+}
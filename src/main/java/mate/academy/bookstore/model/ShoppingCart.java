@@ -25,7 +25,7 @@ import org.hibernate.annotations.SQLRestriction;
 @Setter
 @ToString(exclude = "cartItems")
 @EqualsAndHashCode(exclude = "cartItems")
-@SQLDelete(sql = "UPDATE shopping_cart SET is_deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE shopping_carts SET is_deleted = true, deleted_at = NOW() WHERE id=?")
 @SQLRestriction("is_deleted = FALSE")
 @Table(name = "shopping_carts")
 public class ShoppingCart {
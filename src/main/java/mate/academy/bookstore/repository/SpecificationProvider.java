@@ -2,8 +2,10 @@ package mate.academy.bookstore.repository;
 
 import org.springframework.data.jpa.domain.Specification;
 
-public interface SpecificationProvider<T> {
+public interface SpecificationProvider<T, V> {
     String getKey();
 
-    Specification<T> getSpecification(String[] params);
+    Class<V> getValueType();
+
+    Specification<T> getSpecification(V[] params);
 }
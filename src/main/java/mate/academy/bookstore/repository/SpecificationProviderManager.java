@@ -1,5 +1,5 @@
 package mate.academy.bookstore.repository;
 
 public interface SpecificationProviderManager<T> {
-    SpecificationProvider<T> getSpecificationProvider(String key);
+    <V> SpecificationProvider<T, V> getSpecificationProvider(String key, Class<V> valueType);
 }
@@ -0,0 +1,25 @@
+package mate.academy.bookstore.repository.book;
+
+import java.math.BigDecimal;
+
+public interface BookExportRow {
+    Long getId();
+
+    String getTitle();
+
+    String getAuthor();
+
+    String getIsbn();
+
+    BigDecimal getPrice();
+
+    String getDescription();
+
+    String getCoverImage();
+
+    /**
+     * Comma-separated category ids, or {@code null} for a book without
+     * categories.
+     */
+    String getCategoryIds();
+}
@@ -1,14 +1,147 @@
 package mate.academy.bookstore.repository.book;
 
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import mate.academy.bookstore.dto.book.BookDtoWithoutCategoryIds;
 import mate.academy.bookstore.model.Book;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookRepositoryCustom {
+    /**
+     * {@code Integer.MIN_VALUE}, which makes Connector/J stream rows one by
+     * one instead of buffering the whole result set.
+     */
+    String ROW_STREAMING_FETCH_SIZE = "-2147483648";
 
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
     @Query("SELECT b FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
     List<Book> findAllByCategoryId(Long categoryId);
 
+    @Query("SELECT new mate.academy.bookstore.dto.book.BookDtoWithoutCategoryIds(b.id, "
+            + "b.title, b.author, b.isbn, b.price, b.description, b.coverImage) "
+            + "FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
+    List<BookDtoWithoutCategoryIds> findDtosByCategoryId(Long categoryId, Pageable pageable);
+
+    @Query("SELECT b.id FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
+    List<Long> findIdsByCategoryId(Long categoryId);
+
     List<Book> findAll();
+
+    @Query(value = "SELECT book_id AS bookId, category_id AS categoryId FROM book_category "
+            + "WHERE book_id IN (:bookIds)", nativeQuery = true)
+    List<BookCategoryId> findCategoryIdsByBookIds(Collection<Long> bookIds);
+
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT b.id AS id, b.title AS title FROM Book b WHERE b.id IN :ids")
+    List<BookTitle> findTitlesByIds(Collection<Long> ids);
+
+    @Query(value = "SELECT isbn FROM book WHERE isbn IN (:isbns)", nativeQuery = true)
+    Set<String> findExistingIsbns(Collection<String> isbns);
+
+    @Modifying
+    @Query(value = "DELETE FROM book_category WHERE book_id = :bookId", nativeQuery = true)
+    void deleteCategoryLinks(Long bookId);
+
+    @Modifying
+    @Query(value = "INSERT INTO book_category (book_id, category_id) "
+            + "SELECT :bookId, id FROM categories WHERE id IN (:categoryIds)", nativeQuery = true)
+    void insertCategoryLinks(Long bookId, Collection<Long> categoryIds);
+
+    @Query(value = "SELECT id FROM book WHERE id IN (:bookIds) AND is_deleted = FALSE "
+            + "FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsByIds(Collection<Long> bookIds);
+
+    @Query(value = "SELECT b.id FROM book b JOIN book_category bc ON bc.book_id = b.id "
+            + "WHERE bc.category_id = :categoryId AND b.is_deleted = FALSE FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockIdsByCategoryId(Long categoryId);
+
+    @Modifying
+    @Query(value = "UPDATE book SET price = ROUND(price * :factor, 2), version = version + 1 "
+            + "WHERE id IN (:bookIds) AND is_deleted = FALSE", nativeQuery = true)
+    int scalePricesByIds(Collection<Long> bookIds, BigDecimal factor);
+
+    /**
+     * A book linked to the category more than once is still updated once:
+     * a multi-table {@code UPDATE} changes each matching row a single time.
+     */
+    @Modifying
+    @Query(value = "UPDATE book b JOIN book_category bc ON bc.book_id = b.id "
+            + "SET b.price = ROUND(b.price * :factor, 2), b.version = b.version + 1 "
+            + "WHERE bc.category_id = :categoryId AND b.is_deleted = FALSE", nativeQuery = true)
+    int scalePricesByCategoryId(Long categoryId, BigDecimal factor);
+
+    @Modifying
+    @Query(value = "INSERT INTO book_category (book_id, category_id) "
+            + "SELECT b.id, :targetCategoryId FROM book b "
+            + "WHERE b.id IN (:bookIds) AND b.is_deleted = FALSE AND NOT EXISTS ("
+            + "SELECT 1 FROM book_category l "
+            + "WHERE l.book_id = b.id AND l.category_id = :targetCategoryId)", nativeQuery = true)
+    int insertCategoryLinksByIds(Collection<Long> bookIds, Long targetCategoryId);
+
+    @Modifying
+    @Query(value = "INSERT INTO book_category (book_id, category_id) "
+            + "SELECT DISTINCT b.id, :targetCategoryId FROM book b "
+            + "JOIN book_category bc ON bc.book_id = b.id "
+            + "WHERE bc.category_id = :categoryId AND b.is_deleted = FALSE AND NOT EXISTS ("
+            + "SELECT 1 FROM book_category l "
+            + "WHERE l.book_id = b.id AND l.category_id = :targetCategoryId)", nativeQuery = true)
+    int insertCategoryLinksByCategoryId(Long categoryId, Long targetCategoryId);
+
+    @Modifying
+    @Query(value = "UPDATE book SET version = version + 1 WHERE id IN (:bookIds)",
+            nativeQuery = true)
+    int incrementVersions(Collection<Long> bookIds);
+
+    @Modifying
+    @Query(value = "UPDATE book SET is_deleted = TRUE, deleted_at = NOW(), version = version + 1 "
+            + "WHERE id IN (:bookIds) AND is_deleted = FALSE", nativeQuery = true)
+    int softDeleteByIds(Collection<Long> bookIds);
+
+    @Modifying
+    @Query(value = "UPDATE book b JOIN book_category bc ON bc.book_id = b.id "
+            + "SET b.is_deleted = TRUE, b.deleted_at = NOW(), b.version = b.version + 1 "
+            + "WHERE bc.category_id = :categoryId AND b.is_deleted = FALSE", nativeQuery = true)
+    int softDeleteByCategoryId(Long categoryId);
+
+    default Map<Long, Set<Long>> getCategoryIdsByBookId(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        return findCategoryIdsByBookIds(bookIds).stream()
+                .collect(Collectors.groupingBy(BookCategoryId::getBookId,
+                        Collectors.mapping(BookCategoryId::getCategoryId, Collectors.toSet())));
+    }
+
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Forward-only stream over the live catalog with the category ids of
+     * each book, so nothing else has to be queried while it is open: a
+     * streaming result set blocks its connection. Needs an open transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = ROW_STREAMING_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query(value = "SELECT b.id AS id, b.title AS title, b.author AS author, b.isbn AS isbn, "
+            + "b.price AS price, b.description AS description, b.cover_image AS coverImage, "
+            + "GROUP_CONCAT(bc.category_id) AS categoryIds FROM book b "
+            + "LEFT JOIN book_category bc ON bc.book_id = b.id "
+            + "WHERE b.is_deleted = FALSE GROUP BY b.id ORDER BY b.id", nativeQuery = true)
+    Stream<BookExportRow> streamExportRows();
 }
@@ -0,0 +1,23 @@
+package mate.academy.bookstore.repository.book;
+
+import java.util.Map;
+import mate.academy.bookstore.model.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BookRepositoryCustom {
+    /**
+     * Reads one row past the page to tell whether there is a next one,
+     * without the {@code COUNT} query a {@code Page} would run.
+     */
+    Slice<Book> findSlice(Specification<Book> spec, Pageable pageable);
+
+    /**
+     * Sets the given attributes and bumps the version in a single
+     * {@code UPDATE}, without loading the book.
+     *
+     * @return the number of updated rows, 0 if there is no such book
+     */
+    int updateAttributes(Long id, Map<String, Object> values);
+}
@@ -0,0 +1,58 @@
+package mate.academy.bookstore.repository.book;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.Map;
+import mate.academy.bookstore.model.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Book> findSlice(Specification<Book> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> criteriaQuery = criteriaBuilder.createQuery(Book.class);
+        Root<Book> root = criteriaQuery.from(Book.class);
+        Predicate predicate = spec.toPredicate(root, criteriaQuery, criteriaBuilder);
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+        criteriaQuery.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        TypedQuery<Book> query = entityManager.createQuery(criteriaQuery);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList());
+        }
+        int size = pageable.getPageSize();
+        List<Book> books = query.setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = books.size() > size;
+        return new SliceImpl<>(hasNext ? books.subList(0, size) : books, pageable, hasNext);
+    }
+
+    @Override
+    public int updateAttributes(Long id, Map<String, Object> values) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Book> update = criteriaBuilder.createCriteriaUpdate(Book.class);
+        Root<Book> root = update.from(Book.class);
+        values.forEach(update::set);
+        update.set(root.<Long>get("version"), criteriaBuilder.sum(root.get("version"), 1L));
+        update.where(criteriaBuilder.equal(root.get("id"), id),
+                criteriaBuilder.isFalse(root.get("isDeleted")));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
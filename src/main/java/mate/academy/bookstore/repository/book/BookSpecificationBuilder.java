@@ -1,6 +1,11 @@
 package mate.academy.bookstore.repository.book;
 
+import jakarta.persistence.criteria.Path;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import mate.academy.bookstore.dto.book.BookCursor;
 import mate.academy.bookstore.dto.book.BookSearchParameters;
 import mate.academy.bookstore.model.Book;
 import mate.academy.bookstore.repository.SpecificationBuilder;
@@ -16,17 +21,61 @@ public class BookSpecificationBuilder implements SpecificationBuilder<Book> {
     @Override
     public Specification<Book> build(BookSearchParameters searchParameters) {
         Specification<Book> spec = Specification.where(null);
-        spec = addSpecifications(spec, "title", searchParameters.titles());
-        spec = addSpecifications(spec, "author", searchParameters.authors());
+        spec = addSpecifications(spec, "title", String.class, searchParameters.titles());
+        spec = addSpecifications(spec, "author", String.class, searchParameters.authors());
+        spec = addSpecifications(spec, "category", Long.class,
+                withoutNulls(searchParameters.categoryIds()));
+        spec = addSpecifications(spec, "minPrice", BigDecimal.class,
+                single(searchParameters.minPrice()));
+        spec = addSpecifications(spec, "maxPrice", BigDecimal.class,
+                single(searchParameters.maxPrice()));
         return spec;
     }
 
-    private Specification<Book> addSpecifications(Specification<Book> spec,
-                                                  String field, String[] values) {
+    /**
+     * Seek predicate for keyset pagination: books strictly after the cursor in
+     * (title, author, id) order. The leading {@code title >= ?} lets MySQL turn
+     * the OR chain into a range scan on the (title, author, id) index.
+     */
+    public Specification<Book> after(BookCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            Path<String> title = root.get("title");
+            Path<String> author = root.get("author");
+            Path<Long> id = root.get("id");
+            return criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(title, cursor.title()),
+                    criteriaBuilder.or(
+                            criteriaBuilder.greaterThan(title, cursor.title()),
+                            criteriaBuilder.and(
+                                    criteriaBuilder.equal(title, cursor.title()),
+                                    criteriaBuilder.greaterThan(author, cursor.author())),
+                            criteriaBuilder.and(
+                                    criteriaBuilder.equal(title, cursor.title()),
+                                    criteriaBuilder.equal(author, cursor.author()),
+                                    criteriaBuilder.greaterThan(id, cursor.id()))));
+        };
+    }
+
+    private <V> Specification<Book> addSpecifications(Specification<Book> spec, String field,
+                                                      Class<V> valueType, V[] values) {
         if (values != null && values.length > 0) {
-            return spec.and(bookSpecificationProviderManager.getSpecificationProvider(field)
+            return spec.and(bookSpecificationProviderManager
+                    .getSpecificationProvider(field, valueType)
                     .getSpecification(values));
         }
         return spec;
     }
+
+    private Long[] withoutNulls(Long[] values) {
+        if (values == null) {
+            return null;
+        }
+        return Arrays.stream(values)
+                .filter(Objects::nonNull)
+                .toArray(Long[]::new);
+    }
+
+    private BigDecimal[] single(BigDecimal value) {
+        return value == null ? null : new BigDecimal[]{value};
+    }
 }
@@ -10,12 +10,14 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class BookSpecificationProviderManager implements SpecificationProviderManager<Book> {
-    private final List<SpecificationProvider<Book>> bookSpecificationProviders;
+    private final List<SpecificationProvider<Book, ?>> bookSpecificationProviders;
 
     @Override
-    public SpecificationProvider<Book> getSpecificationProvider(String key) {
-        return bookSpecificationProviders.stream()
-                .filter(p -> p.getKey().equals(key))
+    @SuppressWarnings("unchecked")
+    public <V> SpecificationProvider<Book, V> getSpecificationProvider(String key,
+                                                                      Class<V> valueType) {
+        return (SpecificationProvider<Book, V>) bookSpecificationProviders.stream()
+                .filter(p -> p.getKey().equals(key) && p.getValueType().equals(valueType))
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("Can't find correct "
                         + "specification provider for key " + key));
@@ -0,0 +1,7 @@
+package mate.academy.bookstore.repository.book;
+
+public interface BookTitle {
+    Long getId();
+
+    String getTitle();
+}
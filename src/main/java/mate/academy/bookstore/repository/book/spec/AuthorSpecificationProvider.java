@@ -7,14 +7,19 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
-public class AuthorSpecificationProvider implements SpecificationProvider<Book> {
+public class AuthorSpecificationProvider implements SpecificationProvider<Book, String> {
     @Override
     public String getKey() {
         return "author";
     }
 
+    @Override
+    public Class<String> getValueType() {
+        return String.class;
+    }
+
     public Specification<Book> getSpecification(String[] params) {
         return (root, query, criteriaBuilder) -> root.get("author")
-                .in(Arrays.stream(params).toArray());
+                .in(Arrays.asList(params));
     }
 }
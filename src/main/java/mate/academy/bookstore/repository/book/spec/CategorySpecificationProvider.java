@@ -0,0 +1,37 @@
+package mate.academy.bookstore.repository.book.spec;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Arrays;
+import mate.academy.bookstore.model.Book;
+import mate.academy.bookstore.repository.SpecificationProvider;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategorySpecificationProvider implements SpecificationProvider<Book, Long> {
+    @Override
+    public String getKey() {
+        return "category";
+    }
+
+    @Override
+    public Class<Long> getValueType() {
+        return Long.class;
+    }
+
+    /**
+     * Filters through a subquery rather than a join so a book in several of
+     * the categories isn't returned once per category.
+     */
+    public Specification<Book> getSpecification(Long[] params) {
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Long> bookIds = query.subquery(Long.class);
+            Root<Book> book = bookIds.from(Book.class);
+            bookIds.select(book.get("id"))
+                    .where(book.join("categories").get("id")
+                            .in(Arrays.asList(params)));
+            return root.get("id").in(bookIds);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package mate.academy.bookstore.repository.book.spec;
+
+import java.math.BigDecimal;
+import mate.academy.bookstore.model.Book;
+import mate.academy.bookstore.repository.SpecificationProvider;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MaxPriceSpecificationProvider implements SpecificationProvider<Book, BigDecimal> {
+    @Override
+    public String getKey() {
+        return "maxPrice";
+    }
+
+    @Override
+    public Class<BigDecimal> getValueType() {
+        return BigDecimal.class;
+    }
+
+    public Specification<Book> getSpecification(BigDecimal[] params) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder
+                .lessThanOrEqualTo(root.get("price"), params[0]);
+    }
+}
@@ -7,14 +7,19 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
-public class TitleSpecificationProvider implements SpecificationProvider<Book> {
+public class TitleSpecificationProvider implements SpecificationProvider<Book, String> {
     @Override
     public String getKey() {
         return "title";
     }
 
+    @Override
+    public Class<String> getValueType() {
+        return String.class;
+    }
+
     public Specification<Book> getSpecification(String[] params) {
         return (root, query, criteriaBuilder) -> root.get("title")
-                .in(Arrays.stream(params).toArray());
+                .in(Arrays.asList(params));
     }
 }
@@ -0,0 +1,7 @@
+package mate.academy.bookstore.repository.cartitem;
+
+/**
+ * Quantity a cart should hold of a book; zero means the item is removed.
+ */
+public record CartItemQuantity(Long shoppingCartId, Long bookId, int quantity) {
+}
@@ -1,15 +1,40 @@
 package mate.academy.bookstore.repository.cartitem;
 
+import java.util.Collection;
 import java.util.Optional;
-import mate.academy.bookstore.model.Book;
 import mate.academy.bookstore.model.CartItem;
-import mate.academy.bookstore.model.ShoppingCart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+public interface CartItemRepository extends JpaRepository<CartItem, Long>,
+        CartItemRepositoryCustom {
     Optional<CartItem> findByIdAndShoppingCartId(Long id, Long shoppingCartId);
 
-    Optional<CartItem> findByShoppingCartAndBook(ShoppingCart shoppingCart, Book book);
+    /**
+     * Adds the book to the user's live cart, or raises the quantity of the
+     * existing item, in one statement that relies on the
+     * {@code (shopping_cart_id, book_id)} unique key. Returns 0 when either
+     * the cart or the book doesn't exist, 1 for a new item and 2 for an
+     * updated one.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cart_items (shopping_cart_id, book_id, quantity) "
+            + "SELECT sc.id, b.id, :quantity FROM shopping_carts sc "
+            + "JOIN book b ON b.id = :bookId AND b.is_deleted = FALSE "
+            + "WHERE sc.user_id = :userId AND sc.is_deleted = FALSE "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity", nativeQuery = true)
+    int upsertQuantity(Long userId, Long bookId, int quantity);
+
+    @Modifying
+    @Query(value = "DELETE FROM cart_items WHERE shopping_cart_id = :shoppingCartId",
+            nativeQuery = true)
+    int deleteByShoppingCartId(Long shoppingCartId);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci "
+            + "WHERE ci.shoppingCart.id = :shoppingCartId AND ci.book.id IN :bookIds")
+    int deleteByShoppingCartIdAndBookIds(Long shoppingCartId, Collection<Long> bookIds);
 }
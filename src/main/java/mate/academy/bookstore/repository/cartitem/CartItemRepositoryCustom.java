@@ -0,0 +1,24 @@
+package mate.academy.bookstore.repository.cartitem;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface CartItemRepositoryCustom {
+    /**
+     * Adds each quantity to the book's item in the cart, creating missing
+     * items, as one JDBC batch.
+     */
+    void addQuantities(Long shoppingCartId, Map<Long, Integer> quantitiesByBookId);
+
+    /**
+     * Sets each quantity on the book's item in the cart, creating missing
+     * items, as one JDBC batch.
+     */
+    void setQuantities(Long shoppingCartId, Map<Long, Integer> quantitiesByBookId);
+
+    /**
+     * Writes the given quantities across any number of carts: one JDBC batch
+     * of upserts and one of deletes for the zero quantities.
+     */
+    void writeQuantities(Collection<CartItemQuantity> quantities);
+}
@@ -0,0 +1,66 @@
+package mate.academy.bookstore.repository.cartitem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The upserts keep parameters out of the {@code ON DUPLICATE KEY UPDATE}
+ * clause so the driver can rewrite a batch into one multi-row insert.
+ */
+@RequiredArgsConstructor
+public class CartItemRepositoryCustomImpl implements CartItemRepositoryCustom {
+    private static final String ADD_QUANTITY = "INSERT INTO cart_items "
+            + "(shopping_cart_id, book_id, quantity) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)";
+    private static final String SET_QUANTITY = "INSERT INTO cart_items "
+            + "(shopping_cart_id, book_id, quantity) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)";
+    private static final String DELETE_ITEM = "DELETE FROM cart_items "
+            + "WHERE shopping_cart_id = ? AND book_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addQuantities(Long shoppingCartId, Map<Long, Integer> quantitiesByBookId) {
+        batchUpdate(ADD_QUANTITY, shoppingCartId, quantitiesByBookId);
+    }
+
+    @Override
+    public void setQuantities(Long shoppingCartId, Map<Long, Integer> quantitiesByBookId) {
+        batchUpdate(SET_QUANTITY, shoppingCartId, quantitiesByBookId);
+    }
+
+    @Override
+    public void writeQuantities(Collection<CartItemQuantity> quantities) {
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (CartItemQuantity item : quantities) {
+            if (item.quantity() > 0) {
+                upserts.add(new Object[]{item.shoppingCartId(), item.bookId(), item.quantity()});
+            } else {
+                deletes.add(new Object[]{item.shoppingCartId(), item.bookId()});
+            }
+        }
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(SET_QUANTITY, upserts);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_ITEM, deletes);
+        }
+    }
+
+    private void batchUpdate(String sql, Long shoppingCartId,
+                             Map<Long, Integer> quantitiesByBookId) {
+        if (quantitiesByBookId.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(quantitiesByBookId.size());
+        quantitiesByBookId.forEach((bookId, quantity) ->
+                rows.add(new Object[]{shoppingCartId, bookId, quantity}));
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+}
@@ -0,0 +1,9 @@
+package mate.academy.bookstore.repository.category;
+
+public interface CategoryListVersion {
+    Long getCount();
+
+    Long getMaxId();
+
+    Long getVersionSum();
+}
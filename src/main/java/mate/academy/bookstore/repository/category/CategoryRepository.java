@@ -1,9 +1,22 @@
 package mate.academy.bookstore.repository.category;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import mate.academy.bookstore.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findAll();
+
+    @Query("SELECT c.id FROM Category c")
+    Set<Long> findAllIds();
+
+    @Query("SELECT c.version FROM Category c WHERE c.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT COUNT(c) AS count, MAX(c.id) AS maxId, SUM(c.version) AS versionSum "
+            + "FROM Category c")
+    CategoryListVersion getListVersion();
 }
@@ -1,11 +1,36 @@
 package mate.academy.bookstore.repository.order;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import mate.academy.bookstore.model.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
+
+    /**
+     * Newest orders of the user, optionally of one status; reads the
+     * {@code (user_id, is_deleted, order_date, id)} index backwards.
+     */
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId "
+            + "AND (:status IS NULL OR o.status = :status) "
+            + "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findPage(Long userId, Order.Status status, Limit limit);
+
+    /**
+     * Next orders after the given position, same order as {@link #findPage}.
+     * The leading {@code orderDate <= ?} lets MySQL turn the OR into a range
+     * scan on the (user_id, is_deleted, order_date, id) index.
+     */
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId "
+            + "AND (:status IS NULL OR o.status = :status) "
+            + "AND o.orderDate <= :orderDate "
+            + "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.id < :id)) "
+            + "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findPageAfter(Long userId, Order.Status status, LocalDateTime orderDate,
+                              Long id, Limit limit);
 }
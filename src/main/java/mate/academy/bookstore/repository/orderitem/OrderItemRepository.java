@@ -1,12 +1,32 @@
 package mate.academy.bookstore.repository.orderitem;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import mate.academy.bookstore.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     Optional<Set<OrderItem>> findAllByOrderId(Long orderId);
+
+    @Query("SELECT oi.id AS id, oi.order.id AS orderId, oi.book.id AS bookId, "
+            + "oi.quantity AS quantity, oi.price AS price "
+            + "FROM OrderItem oi WHERE oi.order.id IN :orderIds")
+    List<OrderItemView> findViewsByOrderIds(Collection<Long> orderIds);
+
+    /**
+     * Copies the cart into the order at the current book prices; books
+     * deleted since they were added to the cart are left out.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_items (order_id, book_id, quantity, price) "
+            + "SELECT :orderId, ci.book_id, ci.quantity, b.price FROM cart_items ci "
+            + "JOIN book b ON b.id = ci.book_id AND b.is_deleted = FALSE "
+            + "WHERE ci.shopping_cart_id = :shoppingCartId", nativeQuery = true)
+    int insertFromCart(Long orderId, Long shoppingCartId);
 }
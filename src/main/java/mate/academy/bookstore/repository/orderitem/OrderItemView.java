@@ -0,0 +1,15 @@
+package mate.academy.bookstore.repository.orderitem;
+
+import java.math.BigDecimal;
+
+public interface OrderItemView {
+    Long getId();
+
+    Long getOrderId();
+
+    Long getBookId();
+
+    int getQuantity();
+
+    BigDecimal getPrice();
+}
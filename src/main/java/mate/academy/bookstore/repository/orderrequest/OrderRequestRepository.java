@@ -0,0 +1,71 @@
+package mate.academy.bookstore.repository.orderrequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import mate.academy.bookstore.model.OrderRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderRequestRepository extends JpaRepository<OrderRequest, Long> {
+    Optional<OrderRequest> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Snapshots the cart into the request; books deleted since they were
+     * added to the cart are left out.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_request_items (order_request_id, book_id, quantity) "
+            + "SELECT :orderRequestId, ci.book_id, ci.quantity FROM cart_items ci "
+            + "JOIN book b ON b.id = ci.book_id AND b.is_deleted = FALSE "
+            + "WHERE ci.shopping_cart_id = :shoppingCartId", nativeQuery = true)
+    int insertItemsFromCart(Long orderRequestId, Long shoppingCartId);
+
+    /**
+     * Locks the oldest queued requests until the end of the transaction,
+     * skipping the ones another worker already holds.
+     */
+    @Query(value = "SELECT id FROM order_requests WHERE status = 'QUEUED' "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockQueuedIds(int limit);
+
+    /**
+     * Creates one order per request, totalled at the current book prices
+     * and dated when the request was made.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO orders (id, user_id, status, total, order_date, "
+            + "shipping_address) "
+            + "SELECT r.id, r.user_id, 'PENDING', COALESCE(SUM(i.quantity * b.price), 0), "
+            + "r.created_at, r.shipping_address FROM order_requests r "
+            + "LEFT JOIN order_request_items i ON i.order_request_id = r.id "
+            + "LEFT JOIN book b ON b.id = i.book_id AND b.is_deleted = FALSE "
+            + "WHERE r.id IN :ids GROUP BY r.id", nativeQuery = true)
+    int insertOrders(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_items (order_id, book_id, quantity, price) "
+            + "SELECT i.order_request_id, i.book_id, i.quantity, b.price "
+            + "FROM order_request_items i "
+            + "JOIN book b ON b.id = i.book_id AND b.is_deleted = FALSE "
+            + "WHERE i.order_request_id IN :ids", nativeQuery = true)
+    int insertOrderItems(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_request_items WHERE order_request_id IN :ids",
+            nativeQuery = true)
+    int deleteItems(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE order_requests SET status = 'COMPLETED', processed_at = NOW() "
+            + "WHERE id IN :ids", nativeQuery = true)
+    int markCompleted(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE order_requests SET status = 'FAILED', failure_reason = :reason, "
+            + "processed_at = NOW() WHERE id = :id AND status = 'QUEUED'", nativeQuery = true)
+    int markFailed(Long id, String reason);
+}
@@ -2,10 +2,22 @@ package mate.academy.bookstore.repository.shoppingcart;
 
 import java.util.Optional;
 import mate.academy.bookstore.model.ShoppingCart;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
     Optional<ShoppingCart> findByUserId(Long userId);
+
+    /**
+     * The cart with its items and their books in one query, for rendering
+     * a {@code ShoppingCartDto} without lazy loads.
+     */
+    @EntityGraph(attributePaths = {"cartItems", "cartItems.book"})
+    Optional<ShoppingCart> findWithItemsByUserId(Long userId);
+
+    @Query("SELECT sc.id FROM ShoppingCart sc WHERE sc.user.id = :userId")
+    Optional<Long> findIdByUserId(Long userId);
 }
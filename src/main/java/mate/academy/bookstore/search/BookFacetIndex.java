@@ -0,0 +1,450 @@
+package mate.academy.bookstore.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import mate.academy.bookstore.dto.book.AuthorFacetDto;
+import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.dto.book.BookSearchParameters;
+import mate.academy.bookstore.dto.book.CategoryFacetDto;
+import mate.academy.bookstore.dto.book.PriceBandFacetDto;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compressed bitmaps of book ids per category, author and price band, so
+ * filters and facet counts are answered by intersecting bitmaps instead of
+ * one {@code GROUP BY} per facet. The counts of a facet are taken with every
+ * filter but its own applied, so a sidebar keeps offering the alternatives
+ * to the current selection. Authors are matched case-insensitively, like
+ * the SQL and Lucene search paths.
+ *
+ * <p>Writers (serialized by {@link BookIndexUpdater}) change working
+ * bitmaps, and {@link #publish} replaces in the live maps only the bitmaps
+ * that changed, so a single-book change costs the size of its own facets
+ * rather than of the catalog. Readers see each bitmap either before or
+ * after a publish; a rebuild is swapped in as a whole. Prices are looked up
+ * in a map shared with the writer, and the set of all books is the union of
+ * the price bands, taken on the first read after each publish.
+ */
+@Component
+public class BookFacetIndex implements BookIndex {
+    private static final Comparator<CategoryFacetDto> CATEGORY_RANKING = Comparator
+            .comparingInt(CategoryFacetDto::count).reversed()
+            .thenComparing(CategoryFacetDto::categoryId);
+    private static final Comparator<AuthorFacetDto> AUTHOR_RANKING = Comparator
+            .comparingInt(AuthorFacetDto::count).reversed()
+            .thenComparing(AuthorFacetDto::author);
+
+    private final BigDecimal[] priceBounds;
+    private final int maxAuthors;
+    private volatile Snapshot live;
+    private Working working;
+    private boolean rebuilding;
+
+    public BookFacetIndex(@Value("${facet.price-bounds}") BigDecimal[] priceBounds,
+                          @Value("${facet.max-authors}") int maxAuthors) {
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.maxAuthors = maxAuthors;
+        working = new Working(this.priceBounds.length + 1);
+        live = working.snapshot();
+    }
+
+    /**
+     * Filters by categories, authors and price, and counts every facet over
+     * the matches. When {@code rankedIds} is given only those books are
+     * considered and the page keeps their order; otherwise it is in id order.
+     */
+    public Result search(BookSearchParameters params, List<Long> rankedIds,
+                         int offset, int limit) {
+        Snapshot snapshot = live;
+        RoaringBitmap base = snapshot.all();
+        if (rankedIds != null) {
+            base = RoaringBitmap.and(base, toBitmap(rankedIds));
+        }
+        RoaringBitmap byCategory = union(snapshot.categories(), params.categoryIds());
+        RoaringBitmap byAuthor = union(snapshot.authors(), params.authors() == null ? null
+                : Arrays.stream(params.authors()).map(BookSearchIndex::normalize)
+                        .toArray(String[]::new));
+        RoaringBitmap byPrice = byPrice(snapshot, params.minPrice(), params.maxPrice());
+        RoaringBitmap matches = and(base, byCategory, byAuthor, byPrice);
+
+        return new Result(
+                page(matches, rankedIds, offset, limit),
+                matches.getCardinality(),
+                countCategories(snapshot, and(base, byAuthor, byPrice)),
+                countAuthors(snapshot, and(base, byCategory, byPrice)),
+                countPriceBands(snapshot, and(base, byCategory, byAuthor)));
+    }
+
+    @Override
+    public void clear() {
+        working = new Working(priceBounds.length + 1);
+        rebuilding = true;
+    }
+
+    @Override
+    public void index(List<BookDto> books) {
+        for (BookDto book : books) {
+            int id = Math.toIntExact(book.getId());
+            working.remove(id);
+            Set<Long> categoryIds = book.getCategoryIds() == null
+                    ? Set.of() : Set.copyOf(book.getCategoryIds());
+            String author = book.getAuthor() == null
+                    ? null : BookSearchIndex.normalize(book.getAuthor());
+            working.add(id, new Entry(author, book.getAuthor(), categoryIds, book.getPrice(),
+                    priceBand(book.getPrice())));
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> bookIds) {
+        bookIds.forEach(id -> working.remove(Math.toIntExact(id)));
+    }
+
+    @Override
+    public void publish() {
+        if (rebuilding) {
+            live = working.snapshot();
+            rebuilding = false;
+        } else {
+            working.publishTo(live);
+        }
+    }
+
+    private List<Long> page(RoaringBitmap matches, List<Long> rankedIds, int offset, int limit) {
+        if (rankedIds != null) {
+            return rankedIds.stream()
+                    .filter(id -> matches.contains(Math.toIntExact(id)))
+                    .skip(offset)
+                    .limit(limit)
+                    .toList();
+        }
+        List<Long> ids = new ArrayList<>();
+        if (offset >= matches.getCardinality()) {
+            return ids;
+        }
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select(offset));
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add((long) iterator.next());
+        }
+        return ids;
+    }
+
+    private List<CategoryFacetDto> countCategories(Snapshot snapshot, RoaringBitmap matches) {
+        List<CategoryFacetDto> counts = new ArrayList<>();
+        snapshot.categories().forEach((categoryId, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(matches, bitmap);
+            if (count > 0) {
+                counts.add(new CategoryFacetDto(categoryId, count));
+            }
+        });
+        counts.sort(CATEGORY_RANKING);
+        return counts;
+    }
+
+    private List<AuthorFacetDto> countAuthors(Snapshot snapshot, RoaringBitmap matches) {
+        List<AuthorFacetDto> counts = new ArrayList<>();
+        snapshot.authors().forEach((author, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(matches, bitmap);
+            if (count > 0) {
+                counts.add(new AuthorFacetDto(
+                        snapshot.authorNames().getOrDefault(author, author), count));
+            }
+        });
+        counts.sort(AUTHOR_RANKING);
+        return counts.size() <= maxAuthors ? counts : counts.subList(0, maxAuthors);
+    }
+
+    private List<PriceBandFacetDto> countPriceBands(Snapshot snapshot, RoaringBitmap matches) {
+        List<PriceBandFacetDto> counts = new ArrayList<>();
+        for (int band = 0; band <= priceBounds.length; band++) {
+            counts.add(new PriceBandFacetDto(lowerBound(band), upperBound(band),
+                    RoaringBitmap.andCardinality(matches, snapshot.priceBands().get(band))));
+        }
+        return counts;
+    }
+
+    /**
+     * Takes whole bands inside the range as they are and checks the price of
+     * each book only in the bands the range boundaries fall into.
+     */
+    private RoaringBitmap byPrice(Snapshot snapshot, BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        RoaringBitmap result = new RoaringBitmap();
+        for (int band = 0; band <= priceBounds.length; band++) {
+            RoaringBitmap bandIds = snapshot.priceBands().get(band);
+            BigDecimal from = lowerBound(band);
+            BigDecimal to = upperBound(band);
+            boolean outside = max != null && from != null && from.compareTo(max) > 0
+                    || min != null && to != null && to.compareTo(min) <= 0;
+            if (outside) {
+                continue;
+            }
+            boolean inside = (min == null || from != null && from.compareTo(min) >= 0)
+                    && (max == null || to != null && to.compareTo(max) <= 0);
+            if (inside) {
+                result.or(bandIds);
+                continue;
+            }
+            bandIds.forEach((int id) -> {
+                BigDecimal price = snapshot.prices().get(id);
+                if (price != null && (min == null || price.compareTo(min) >= 0)
+                        && (max == null || price.compareTo(max) <= 0)) {
+                    result.add(id);
+                }
+            });
+        }
+        return result;
+    }
+
+    private int priceBand(BigDecimal price) {
+        if (price == null) {
+            return priceBounds.length + 1;
+        }
+        int band = 0;
+        while (band < priceBounds.length && price.compareTo(priceBounds[band]) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    private BigDecimal lowerBound(int band) {
+        return band == 0 ? null : priceBounds[band - 1];
+    }
+
+    private BigDecimal upperBound(int band) {
+        return band == priceBounds.length ? null : priceBounds[band];
+    }
+
+    private static <K> RoaringBitmap union(Map<K, RoaringBitmap> bitmaps, K[] keys) {
+        if (keys == null || keys.length == 0) {
+            return null;
+        }
+        RoaringBitmap result = new RoaringBitmap();
+        for (K key : keys) {
+            RoaringBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static RoaringBitmap and(RoaringBitmap base, RoaringBitmap... filters) {
+        RoaringBitmap result = base;
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result = RoaringBitmap.and(result, filter);
+            }
+        }
+        return result;
+    }
+
+    private static RoaringBitmap toBitmap(List<Long> ids) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        ids.forEach(id -> bitmap.add(Math.toIntExact(id)));
+        return bitmap;
+    }
+
+    public record Result(
+            List<Long> ids,
+            int total,
+            List<CategoryFacetDto> categories,
+            List<AuthorFacetDto> authors,
+            List<PriceBandFacetDto> priceBands
+    ) {
+    }
+
+    private record Entry(String author, String authorName, Set<Long> categoryIds,
+                         BigDecimal price, int band) {
+    }
+
+    private record CachedBitmap(long generation, RoaringBitmap bitmap) {
+    }
+
+    /**
+     * Live view read by searches. The maps and band slots are replaced key by
+     * key on publish and their bitmaps are never changed in place; prices and
+     * author names are the writer's own concurrent maps.
+     */
+    private record Snapshot(
+            Map<Long, RoaringBitmap> categories,
+            Map<String, RoaringBitmap> authors,
+            Map<String, String> authorNames,
+            AtomicReferenceArray<RoaringBitmap> priceBands,
+            Map<Integer, BigDecimal> prices,
+            AtomicLong generation,
+            AtomicReference<CachedBitmap> allIds
+    ) {
+        /**
+         * All indexed books: every book is in exactly one band, the last one
+         * holding books without a price.
+         */
+        private RoaringBitmap all() {
+            long current = generation.get();
+            CachedBitmap cached = allIds.get();
+            if (cached != null && cached.generation() == current) {
+                return cached.bitmap();
+            }
+            RoaringBitmap all = new RoaringBitmap();
+            for (int band = 0; band < priceBands.length(); band++) {
+                all.or(priceBands.get(band));
+            }
+            allIds.set(new CachedBitmap(current, all));
+            return all;
+        }
+    }
+
+    private static final class Working {
+        private final Map<Long, RoaringBitmap> categories = new HashMap<>();
+        private final Map<String, RoaringBitmap> authors = new HashMap<>();
+        private final Map<String, String> authorNames = new ConcurrentHashMap<>();
+        private final RoaringBitmap[] priceBands;
+        private final Map<Integer, BigDecimal> prices = new ConcurrentHashMap<>();
+        private final Map<Integer, Entry> entries = new HashMap<>();
+        private final Set<Long> changedCategories = new HashSet<>();
+        private final Set<String> changedAuthors = new HashSet<>();
+        private final boolean[] changedPriceBands;
+
+        private Working(int pricedBands) {
+            priceBands = new RoaringBitmap[pricedBands + 1];
+            Arrays.setAll(priceBands, band -> new RoaringBitmap());
+            changedPriceBands = new boolean[priceBands.length];
+        }
+
+        private void add(int id, Entry entry) {
+            entries.put(id, entry);
+            for (Long categoryId : entry.categoryIds()) {
+                categories.computeIfAbsent(categoryId, key -> new RoaringBitmap()).add(id);
+                changedCategories.add(categoryId);
+            }
+            if (entry.author() != null) {
+                authors.computeIfAbsent(entry.author(), key -> new RoaringBitmap()).add(id);
+                authorNames.putIfAbsent(entry.author(), entry.authorName());
+                changedAuthors.add(entry.author());
+            }
+            priceBands[entry.band()].add(id);
+            changedPriceBands[entry.band()] = true;
+            if (entry.price() != null) {
+                prices.put(id, entry.price());
+            }
+        }
+
+        private void remove(int id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (Long categoryId : entry.categoryIds()) {
+                removeFrom(categories, categoryId, id);
+                changedCategories.add(categoryId);
+            }
+            if (entry.author() != null) {
+                if (removeFrom(authors, entry.author(), id)) {
+                    authorNames.remove(entry.author());
+                }
+                changedAuthors.add(entry.author());
+            }
+            priceBands[entry.band()].remove(id);
+            changedPriceBands[entry.band()] = true;
+            prices.remove(id);
+        }
+
+        /**
+         * A new live view with copies of every bitmap, for the first publish
+         * and after a rebuild.
+         */
+        private Snapshot snapshot() {
+            Map<Long, RoaringBitmap> liveCategories = new ConcurrentHashMap<>();
+            categories.forEach((key, bitmap) -> liveCategories.put(key, bitmap.clone()));
+            Map<String, RoaringBitmap> liveAuthors = new ConcurrentHashMap<>();
+            authors.forEach((key, bitmap) -> liveAuthors.put(key, bitmap.clone()));
+            AtomicReferenceArray<RoaringBitmap> liveBands =
+                    new AtomicReferenceArray<>(priceBands.length);
+            for (int band = 0; band < priceBands.length; band++) {
+                liveBands.set(band, priceBands[band].clone());
+            }
+            clearChanges();
+            return new Snapshot(liveCategories, liveAuthors, authorNames, liveBands, prices,
+                    new AtomicLong(), new AtomicReference<>());
+        }
+
+        /**
+         * Replaces in {@code live} the bitmaps changed since the last publish.
+         */
+        private void publishTo(Snapshot live) {
+            if (changedCategories.isEmpty() && changedAuthors.isEmpty()
+                    && !anyChangedBand()) {
+                return;
+            }
+            replace(live.categories(), categories, changedCategories);
+            replace(live.authors(), authors, changedAuthors);
+            for (int band = 0; band < priceBands.length; band++) {
+                if (changedPriceBands[band]) {
+                    live.priceBands().set(band, priceBands[band].clone());
+                }
+            }
+            live.generation().incrementAndGet();
+            clearChanges();
+        }
+
+        private boolean anyChangedBand() {
+            for (boolean changed : changedPriceBands) {
+                if (changed) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void clearChanges() {
+            changedCategories.clear();
+            changedAuthors.clear();
+            Arrays.fill(changedPriceBands, false);
+        }
+
+        /**
+         * Removes the id from the key's bitmap and drops the bitmap once it is
+         * empty; returns whether it was dropped.
+         */
+        private static <K> boolean removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int id) {
+            RoaringBitmap bitmap = bitmaps.get(key);
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+                return true;
+            }
+            return false;
+        }
+
+        private static <K> void replace(Map<K, RoaringBitmap> live,
+                                        Map<K, RoaringBitmap> current, Set<K> changedKeys) {
+            for (K key : changedKeys) {
+                RoaringBitmap bitmap = current.get(key);
+                if (bitmap == null) {
+                    live.remove(key);
+                } else {
+                    live.put(key, bitmap.clone());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package mate.academy.bookstore.search;
+
+import java.util.Collection;
+import java.util.List;
+import mate.academy.bookstore.dto.book.BookDto;
+
+/**
+ * In-process view of the catalog kept in sync by {@link BookIndexUpdater}.
+ * Changes are applied by {@link #index} and {@link #remove} and are
+ * guaranteed to be visible to readers after {@link #publish}; between
+ * {@link #clear} and {@link #publish} readers keep seeing the previous
+ * contents.
+ */
+public interface BookIndex {
+    void clear();
+
+    void index(List<BookDto> books);
+
+    void remove(Collection<Long> bookIds);
+
+    void publish();
+}
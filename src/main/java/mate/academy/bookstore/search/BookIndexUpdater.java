@@ -0,0 +1,78 @@
+package mate.academy.bookstore.search;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.event.BookChangedEvent;
+import mate.academy.bookstore.mapper.BookMapper;
+import mate.academy.bookstore.model.Book;
+import mate.academy.bookstore.repository.book.BookRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps every {@link BookIndex} in line with the {@code book} table: a full
+ * rebuild in the background on startup, then incremental updates after each
+ * committed write. Both run off the request thread and are serialized, so an
+ * update that arrives mid-rebuild is applied once the rebuild is published.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookIndexUpdater {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final List<BookIndex> bookIndexes;
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        log.info("Rebuilding book indexes");
+        bookIndexes.forEach(BookIndex::clear);
+        long lastId = 0;
+        long total = 0;
+        List<Book> batch;
+        do {
+            batch = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId,
+                    Limit.of(REBUILD_BATCH_SIZE));
+            if (!batch.isEmpty()) {
+                List<BookDto> books = toDtoList(batch);
+                bookIndexes.forEach(index -> index.index(books));
+                lastId = batch.get(batch.size() - 1).getId();
+                total += batch.size();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        bookIndexes.forEach(BookIndex::publish);
+        log.info("Rebuilt book indexes with {} books", total);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        List<Book> found = bookRepository.findAllById(event.bookIds());
+        Set<Long> removedIds = new HashSet<>(event.bookIds());
+        found.forEach(book -> removedIds.remove(book.getId()));
+        List<BookDto> books = toDtoList(found);
+        for (BookIndex index : bookIndexes) {
+            index.index(books);
+            index.remove(removedIds);
+            index.publish();
+        }
+    }
+
+    private List<BookDto> toDtoList(List<Book> books) {
+        List<Long> bookIds = books.stream()
+                .map(Book::getId)
+                .toList();
+        return bookMapper.toDtoList(books, bookRepository.getCategoryIdsByBookId(bookIds));
+    }
+}
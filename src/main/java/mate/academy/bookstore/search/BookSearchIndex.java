@@ -0,0 +1,237 @@
+package mate.academy.bookstore.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.dto.book.BookSearchParameters;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Lucene inverted index over title, author and description, ranked with BM25
+ * and persisted under {@code search.index.path}. Title and author are also
+ * indexed as lowercase keywords, and categories and price as points, so the
+ * exact-match search filters can be answered from the index without going
+ * back to MySQL.
+ */
+@Component
+public class BookSearchIndex implements BookIndex, DisposableBean {
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private static final String DESCRIPTION = "description";
+    private static final String TITLE_KEYWORD = "titleKeyword";
+    private static final String AUTHOR_KEYWORD = "authorKeyword";
+    private static final String CATEGORY_ID = "categoryId";
+    private static final String PRICE = "price";
+    private static final int PRICE_SCALE = 4;
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            TITLE, 3f,
+            AUTHOR, 2f,
+            DESCRIPTION, 1f);
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public BookSearchIndex(@Value("${search.index.path}") Path indexPath) throws IOException {
+        directory = FSDirectory.open(indexPath);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setSimilarity(new BM25Similarity())
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Returns ids of the books matching the free-text query and the exact
+     * filters, best match first; without a query every book matches.
+     */
+    public List<Long> search(BookSearchParameters params, int offset, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Query query = toQuery(params);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query,
+                        (int) Math.min((long) offset + limit, Integer.MAX_VALUE));
+                List<Long> ids = new ArrayList<>();
+                ScoreDoc[] hits = topDocs.scoreDocs;
+                for (int i = offset; i < hits.length; i++) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(hits[i].doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't search the book index", e);
+        }
+    }
+
+    /**
+     * Returns the number of books matching the free-text query and the exact
+     * filters.
+     */
+    public int count(BookSearchParameters params) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.count(toQuery(params));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't search the book index", e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't clear the book index", e);
+        }
+    }
+
+    @Override
+    public void index(List<BookDto> books) {
+        try {
+            for (BookDto book : books) {
+                writer.updateDocument(new Term(ID, book.getId().toString()), toDocument(book));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't index books", e);
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> bookIds) {
+        try {
+            writer.deleteDocuments(bookIds.stream()
+                    .map(id -> new Term(ID, id.toString()))
+                    .toArray(Term[]::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't remove books from the index", e);
+        }
+    }
+
+    @Override
+    public void publish() {
+        try {
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't publish the book index", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query toQuery(BookSearchParameters params) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(StringUtils.hasText(params.query()) ? parser.parse(params.query())
+                        : new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        addKeywordFilter(query, TITLE_KEYWORD, params.titles());
+        addKeywordFilter(query, AUTHOR_KEYWORD, params.authors());
+        if (params.categoryIds() != null && params.categoryIds().length > 0) {
+            query.add(LongPoint.newSetQuery(CATEGORY_ID, Arrays.stream(params.categoryIds())
+                    .mapToLong(Long::longValue)
+                    .toArray()), BooleanClause.Occur.FILTER);
+        }
+        if (params.minPrice() != null || params.maxPrice() != null) {
+            long min = params.minPrice() == null ? Long.MIN_VALUE
+                    : toScaledPrice(params.minPrice(), RoundingMode.CEILING);
+            long max = params.maxPrice() == null ? Long.MAX_VALUE
+                    : toScaledPrice(params.maxPrice(), RoundingMode.FLOOR);
+            query.add(LongPoint.newRangeQuery(PRICE, min, max), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private long toScaledPrice(BigDecimal price, RoundingMode roundingMode) {
+        return price.setScale(PRICE_SCALE, roundingMode).unscaledValue().longValueExact();
+    }
+
+    private void addKeywordFilter(BooleanQuery.Builder query, String field, String[] values) {
+        if (values == null || values.length == 0) {
+            return;
+        }
+        BooleanQuery.Builder anyOf = new BooleanQuery.Builder();
+        for (String value : values) {
+            anyOf.add(new TermQuery(new Term(field, normalize(value))),
+                    BooleanClause.Occur.SHOULD);
+        }
+        query.add(anyOf.build(), BooleanClause.Occur.FILTER);
+    }
+
+    private Document toDocument(BookDto book) {
+        Document document = new Document();
+        document.add(new StringField(ID, book.getId().toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, book.getTitle(), Field.Store.NO));
+        document.add(new TextField(AUTHOR, book.getAuthor(), Field.Store.NO));
+        if (book.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, book.getDescription(), Field.Store.NO));
+        }
+        document.add(new StringField(TITLE_KEYWORD, normalize(book.getTitle()), Field.Store.NO));
+        document.add(new StringField(AUTHOR_KEYWORD, normalize(book.getAuthor()),
+                Field.Store.NO));
+        if (book.getCategoryIds() != null) {
+            book.getCategoryIds().forEach(id -> document.add(new LongPoint(CATEGORY_ID, id)));
+        }
+        if (book.getPrice() != null) {
+            document.add(new LongPoint(PRICE,
+                    toScaledPrice(book.getPrice(), RoundingMode.HALF_UP)));
+        }
+        return document;
+    }
+
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
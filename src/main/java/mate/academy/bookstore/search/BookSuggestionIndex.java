@@ -0,0 +1,196 @@
+package mate.academy.bookstore.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.dto.book.BookSuggestionDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typeahead over book titles and authors. Every trie node keeps the top
+ * suggestions of its subtree precomputed, so a lookup is a walk down the
+ * prefix plus a sublist view of an immutable list. Reads never lock: writers
+ * (serialized by {@link BookIndexUpdater}) replace node state through
+ * volatile fields, and a rebuild is assembled off to the side and swapped in
+ * on {@link #publish}.
+ */
+@Component
+public class BookSuggestionIndex implements BookIndex {
+    private static final Comparator<BookSuggestionDto> RANKING = Comparator
+            .comparingInt(BookSuggestionDto::bookCount).reversed()
+            .thenComparing(BookSuggestionDto::text)
+            .thenComparing(BookSuggestionDto::type);
+
+    private final int maxSuggestions;
+    private volatile Trie live = new Trie();
+    private Trie building;
+
+    public BookSuggestionIndex(@Value("${suggest.max-results}") int maxSuggestions) {
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        Node node = live.root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(Character.toLowerCase(prefix.charAt(i)));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        List<BookSuggestionDto> top = node.top;
+        return top.size() <= limit ? top : top.subList(0, limit);
+    }
+
+    @Override
+    public void clear() {
+        building = new Trie();
+    }
+
+    @Override
+    public void index(List<BookDto> books) {
+        Trie trie = target();
+        for (BookDto book : books) {
+            trie.remove(book.getId(), building == null);
+            trie.add(book, building == null);
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> bookIds) {
+        Trie trie = target();
+        bookIds.forEach(id -> trie.remove(id, building == null));
+    }
+
+    @Override
+    public void publish() {
+        if (building != null) {
+            building.root.recomputeSubtree();
+            live = building;
+            building = null;
+        }
+    }
+
+    private Trie target() {
+        return building != null ? building : live;
+    }
+
+    private final class Trie {
+        private final Node root = new Node();
+        private final Map<Long, String[]> titleAndAuthorByBookId = new HashMap<>();
+
+        void add(BookDto book, boolean recompute) {
+            titleAndAuthorByBookId.put(book.getId(),
+                    new String[]{book.getTitle(), book.getAuthor()});
+            update(book.getTitle(), BookSuggestionDto.Type.TITLE, 1, recompute);
+            update(book.getAuthor(), BookSuggestionDto.Type.AUTHOR, 1, recompute);
+        }
+
+        void remove(Long bookId, boolean recompute) {
+            String[] titleAndAuthor = titleAndAuthorByBookId.remove(bookId);
+            if (titleAndAuthor != null) {
+                update(titleAndAuthor[0], BookSuggestionDto.Type.TITLE, -1, recompute);
+                update(titleAndAuthor[1], BookSuggestionDto.Type.AUTHOR, -1, recompute);
+            }
+        }
+
+        private void update(String text, BookSuggestionDto.Type type, int delta,
+                            boolean recompute) {
+            String key = text.toLowerCase(Locale.ROOT);
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].getOrAddChild(key.charAt(i));
+            }
+            path[key.length()].count(text, type, delta);
+            if (recompute) {
+                for (int i = key.length(); i >= 0; i--) {
+                    path[i].recompute();
+                }
+            }
+        }
+    }
+
+    private final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private volatile Children children = new Children(NO_KEYS, NO_CHILDREN);
+        private volatile List<BookSuggestionDto> top = List.of();
+        private BookSuggestionDto title;
+        private BookSuggestionDto author;
+
+        Node child(char key) {
+            Children current = children;
+            int index = Arrays.binarySearch(current.keys, key);
+            return index >= 0 ? current.nodes[index] : null;
+        }
+
+        Node getOrAddChild(char key) {
+            Children current = children;
+            int index = Arrays.binarySearch(current.keys, key);
+            if (index >= 0) {
+                return current.nodes[index];
+            }
+            int insertAt = -index - 1;
+            char[] keys = new char[current.keys.length + 1];
+            Node[] nodes = new Node[current.nodes.length + 1];
+            System.arraycopy(current.keys, 0, keys, 0, insertAt);
+            System.arraycopy(current.nodes, 0, nodes, 0, insertAt);
+            keys[insertAt] = key;
+            nodes[insertAt] = new Node();
+            System.arraycopy(current.keys, insertAt, keys, insertAt + 1,
+                    current.keys.length - insertAt);
+            System.arraycopy(current.nodes, insertAt, nodes, insertAt + 1,
+                    current.nodes.length - insertAt);
+            children = new Children(keys, nodes);
+            return nodes[insertAt];
+        }
+
+        void count(String text, BookSuggestionDto.Type type, int delta) {
+            BookSuggestionDto current = type == BookSuggestionDto.Type.TITLE ? title : author;
+            int bookCount = (current == null ? 0 : current.bookCount()) + delta;
+            String displayText = current == null ? text : current.text();
+            BookSuggestionDto updated = bookCount > 0
+                    ? new BookSuggestionDto(displayText, type, bookCount)
+                    : null;
+            if (type == BookSuggestionDto.Type.TITLE) {
+                title = updated;
+            } else {
+                author = updated;
+            }
+        }
+
+        void recompute() {
+            List<BookSuggestionDto> candidates = new ArrayList<>();
+            if (title != null) {
+                candidates.add(title);
+            }
+            if (author != null) {
+                candidates.add(author);
+            }
+            for (Node node : children.nodes) {
+                candidates.addAll(node.top);
+            }
+            candidates.sort(RANKING);
+            top = List.copyOf(candidates.subList(0,
+                    Math.min(maxSuggestions, candidates.size())));
+        }
+
+        void recomputeSubtree() {
+            for (Node node : children.nodes) {
+                node.recomputeSubtree();
+            }
+            recompute();
+        }
+    }
+
+    private record Children(char[] keys, Node[] nodes) {
+    }
+}
@@ -0,0 +1,5 @@
+package mate.academy.bookstore.service;
+
+public interface ArchiveService {
+    void archiveDeletedRows();
+}
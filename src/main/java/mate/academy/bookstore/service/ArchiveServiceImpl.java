@@ -0,0 +1,122 @@
+package mate.academy.bookstore.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves soft-deleted rows older than {@code archive.retention} into the
+ * {@code *_archive} tables, so the live tables and their indexes only hold
+ * rows the application can still see. Rows go in batches of
+ * {@code archive.batch-size}, one short transaction each, with a pause in
+ * between to leave room for regular traffic. Dependent rows are moved
+ * together with their parent. Books and users still referenced by live rows
+ * stay until the references are gone.
+ *
+ * <p>Archive tables mirror the column order of their source table with
+ * {@code archived_at} appended; a column added to one must be added to the
+ * other.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchiveServiceImpl implements ArchiveService {
+    private static final List<ArchivedTable> ARCHIVED_TABLES = List.of(
+            new ArchivedTable("orders", "",
+                    List.of(new DependentTable("order_items", "order_id"))),
+            new ArchivedTable("order_items", "", List.of()),
+            new ArchivedTable("shopping_carts", "",
+                    List.of(new DependentTable("cart_items", "shopping_cart_id"))),
+            new ArchivedTable("book",
+                    " AND NOT EXISTS (SELECT 1 FROM order_items i WHERE i.book_id = t.id)"
+                            + " AND NOT EXISTS (SELECT 1 FROM cart_items c WHERE c.book_id = t.id)"
+                            + " AND NOT EXISTS (SELECT 1 FROM order_request_items r"
+                            + " WHERE r.book_id = t.id)",
+                    List.of(new DependentTable("book_category", "book_id"))),
+            new ArchivedTable("users",
+                    " AND NOT EXISTS (SELECT 1 FROM orders o WHERE o.user_id = t.id)"
+                            + " AND NOT EXISTS (SELECT 1 FROM shopping_carts c"
+                            + " WHERE c.user_id = t.id)"
+                            + " AND NOT EXISTS (SELECT 1 FROM order_requests r"
+                            + " WHERE r.user_id = t.id)",
+                    List.of(new DependentTable("users_roles", "user_id"))));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${archive.retention}")
+    private Duration retention;
+
+    @Value("${archive.batch-size}")
+    private int batchSize;
+
+    @Value("${archive.pause}")
+    private Duration pause;
+
+    @Override
+    @Scheduled(cron = "${archive.cron}")
+    public void archiveDeletedRows() {
+        Timestamp deletedBefore = Timestamp.from(Instant.now().minus(retention));
+        for (ArchivedTable table : ARCHIVED_TABLES) {
+            long archived = 0;
+            int batch;
+            do {
+                batch = transactionTemplate.execute(
+                        status -> archiveBatch(table, deletedBefore));
+                archived += batch;
+            } while (batch == batchSize && pause());
+            if (archived > 0) {
+                log.info("Archived {} deleted rows of {}", archived, table.name());
+            }
+        }
+    }
+
+    private int archiveBatch(ArchivedTable table, Timestamp deletedBefore) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT t.id FROM " + table.name()
+                        + " t WHERE t.is_deleted = TRUE AND t.deleted_at < :deletedBefore"
+                        + table.condition() + " ORDER BY t.id LIMIT :limit FOR UPDATE",
+                Map.of("deletedBefore", deletedBefore, "limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> params = Map.of("ids", ids,
+                "archivedAt", Timestamp.from(Instant.now()));
+        for (DependentTable dependent : table.dependents()) {
+            move(dependent.name(), dependent.parentColumn(), params);
+        }
+        move(table.name(), "id", params);
+        return ids.size();
+    }
+
+    private void move(String table, String column, Map<String, Object> params) {
+        jdbcTemplate.update("INSERT INTO " + table + "_archive SELECT t.*, :archivedAt FROM "
+                + table + " t WHERE t." + column + " IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE " + column + " IN (:ids)", params);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record ArchivedTable(String name, String condition,
+                                 List<DependentTable> dependents) {
+    }
+
+    private record DependentTable(String name, String parentColumn) {
+    }
+}
@@ -0,0 +1,14 @@
+package mate.academy.bookstore.service;
+
+import mate.academy.bookstore.dto.book.BookSelectionDto;
+import mate.academy.bookstore.dto.book.BulkCategoryAssignRequestDto;
+import mate.academy.bookstore.dto.book.BulkOperationResultDto;
+import mate.academy.bookstore.dto.book.BulkPriceChangeRequestDto;
+
+public interface BookBulkService {
+    BulkOperationResultDto changePrices(BulkPriceChangeRequestDto requestDto);
+
+    BulkOperationResultDto assignCategory(BulkCategoryAssignRequestDto requestDto);
+
+    BulkOperationResultDto delete(BookSelectionDto selection);
+}
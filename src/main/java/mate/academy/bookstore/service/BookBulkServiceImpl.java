@@ -0,0 +1,105 @@
+package mate.academy.bookstore.service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import mate.academy.bookstore.config.CacheConfig;
+import mate.academy.bookstore.dto.book.BookSelectionDto;
+import mate.academy.bookstore.dto.book.BulkCategoryAssignRequestDto;
+import mate.academy.bookstore.dto.book.BulkOperationResultDto;
+import mate.academy.bookstore.dto.book.BulkPriceChangeRequestDto;
+import mate.academy.bookstore.event.BookChangedEvent;
+import mate.academy.bookstore.exception.EntityNotFoundException;
+import mate.academy.bookstore.repository.book.BookRepository;
+import mate.academy.bookstore.repository.category.CategoryRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Each operation locks the selected rows, changes them with one set-based
+ * statement and publishes a single {@link BookChangedEvent}, so indexes and
+ * catalog caches are refreshed once per batch. The book cache is cleared as
+ * a whole for the same reason.
+ */
+@RequiredArgsConstructor
+@Service
+public class BookBulkServiceImpl implements BookBulkService {
+    private final BookRepository bookRepository;
+    private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true)
+    public BulkOperationResultDto changePrices(BulkPriceChangeRequestDto requestDto) {
+        Set<Long> bookIds = lockSelection(requestDto);
+        if (bookIds.isEmpty()) {
+            return new BulkOperationResultDto(0);
+        }
+        BigDecimal factor = BigDecimal.ONE.add(requestDto.getPercent().movePointLeft(2));
+        if (requestDto.getCategoryId() != null) {
+            bookRepository.scalePricesByCategoryId(requestDto.getCategoryId(), factor);
+        } else {
+            bookRepository.scalePricesByIds(bookIds, factor);
+        }
+        eventPublisher.publishEvent(new BookChangedEvent(bookIds));
+        return new BulkOperationResultDto(bookIds.size());
+    }
+
+    /**
+     * Adds the target category to the selected books that don't have it yet;
+     * {@code affected} counts only those books.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true)
+    public BulkOperationResultDto assignCategory(BulkCategoryAssignRequestDto requestDto) {
+        Long targetCategoryId = requestDto.getTargetCategoryId();
+        if (!categoryRepository.existsById(targetCategoryId)) {
+            throw new EntityNotFoundException("Can't find category by id " + targetCategoryId);
+        }
+        Set<Long> bookIds = lockSelection(requestDto);
+        if (bookIds.isEmpty()) {
+            return new BulkOperationResultDto(0);
+        }
+        int linked = requestDto.getCategoryId() != null
+                ? bookRepository.insertCategoryLinksByCategoryId(requestDto.getCategoryId(),
+                        targetCategoryId)
+                : bookRepository.insertCategoryLinksByIds(bookIds, targetCategoryId);
+        if (linked > 0) {
+            bookRepository.incrementVersions(bookIds);
+            eventPublisher.publishEvent(new BookChangedEvent(bookIds));
+        }
+        return new BulkOperationResultDto(linked);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, allEntries = true)
+    public BulkOperationResultDto delete(BookSelectionDto selection) {
+        Set<Long> bookIds = lockSelection(selection);
+        if (bookIds.isEmpty()) {
+            return new BulkOperationResultDto(0);
+        }
+        if (selection.getCategoryId() != null) {
+            bookRepository.softDeleteByCategoryId(selection.getCategoryId());
+        } else {
+            bookRepository.softDeleteByIds(bookIds);
+        }
+        eventPublisher.publishEvent(new BookChangedEvent(bookIds));
+        return new BulkOperationResultDto(bookIds.size());
+    }
+
+    /**
+     * Locks the live books of the selection so the set-based statement that
+     * follows changes exactly the ids reported in the event.
+     */
+    private Set<Long> lockSelection(BookSelectionDto selection) {
+        return new LinkedHashSet<>(selection.getCategoryId() != null
+                ? bookRepository.lockIdsByCategoryId(selection.getCategoryId())
+                : bookRepository.lockIdsByIds(selection.getBookIds()));
+    }
+}
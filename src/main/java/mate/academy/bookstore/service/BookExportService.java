@@ -0,0 +1,8 @@
+package mate.academy.bookstore.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    void exportNdjson(OutputStream output) throws IOException;
+}
@@ -0,0 +1,53 @@
+package mate.academy.bookstore.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import mate.academy.bookstore.mapper.BookMapper;
+import mate.academy.bookstore.repository.book.BookExportRow;
+import mate.academy.bookstore.repository.book.BookRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the catalog as NDJSON straight from a MySQL streaming result set.
+ * Rows are read one at a time and are not managed entities, so the heap
+ * holds at most one chunk of output however large the catalog is. Rows are
+ * written without the mapper's flush-after-value, so the client gets one
+ * flush per chunk rather than one per book.
+ */
+@RequiredArgsConstructor
+@Service
+public class BookExportServiceImpl implements BookExportService {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream output) throws IOException {
+        try (Stream<BookExportRow> rows = bookRepository.streamExportRows();
+                JsonGenerator generator = objectMapper.createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+            ObjectWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            Iterator<BookExportRow> iterator = rows.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, bookMapper.toDto(iterator.next()));
+                generator.writeRaw('\n');
+                if (++written % CHUNK_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package mate.academy.bookstore.service;
+
+import java.io.InputStream;
+import mate.academy.bookstore.dto.book.BookImportResultDto;
+
+public interface BookImportService {
+    BookImportResultDto importCsv(InputStream input);
+
+    BookImportResultDto importNdjson(InputStream input);
+}
@@ -0,0 +1,228 @@
+package mate.academy.bookstore.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mate.academy.bookstore.dto.book.BookImportErrorDto;
+import mate.academy.bookstore.dto.book.BookImportResultDto;
+import mate.academy.bookstore.dto.book.CreateBookRequestDto;
+import mate.academy.bookstore.event.BookChangedEvent;
+import mate.academy.bookstore.mapper.BookMapper;
+import mate.academy.bookstore.model.Book;
+import mate.academy.bookstore.model.Category;
+import mate.academy.bookstore.repository.book.BookRepository;
+import mate.academy.bookstore.repository.category.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams catalog files row by row and writes them in batches: each batch is
+ * checked against existing ISBNs with one query, persisted in its own
+ * transaction and flushed as JDBC batches, then detached so memory stays flat
+ * regardless of file size. Invalid and duplicate rows are reported, not fatal.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final ObjectReader CSV_READER = new CsvMapper()
+            .readerFor(CreateBookRequestDto.class)
+            .with(CsvSchema.emptySchema().withHeader().withArrayElementSeparator(";"));
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int PROGRESS_LOG_INTERVAL = 10_000;
+    private static final String UNREADABLE_INPUT = "Unreadable input, import stopped: ";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final BookRepository bookRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookMapper bookMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${book.import.batch-size}")
+    private int batchSize;
+
+    @Override
+    public BookImportResultDto importCsv(InputStream input) {
+        return importRows(CSV_READER, input);
+    }
+
+    @Override
+    public BookImportResultDto importNdjson(InputStream input) {
+        return importRows(objectMapper.readerFor(CreateBookRequestDto.class), input);
+    }
+
+    private BookImportResultDto importRows(ObjectReader reader, InputStream input) {
+        ImportProgress progress = new ImportProgress(categoryRepository.findAllIds());
+        List<Row> batch = new ArrayList<>(batchSize);
+        try (MappingIterator<CreateBookRequestDto> rows = reader.readValues(input)) {
+            long rowNumber = 0;
+            while (hasNextRow(rows, rowNumber, progress)) {
+                rowNumber++;
+                CreateBookRequestDto requestDto;
+                try {
+                    requestDto = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    progress.fail(rowNumber, e.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException e) {
+                    progress.fail(rowNumber, UNREADABLE_INPUT + e.getOriginalMessage());
+                    break;
+                }
+                String error = validate(requestDto, progress.categoryIds);
+                if (error != null) {
+                    progress.fail(rowNumber, error);
+                    continue;
+                }
+                batch.add(new Row(rowNumber, requestDto));
+                if (batch.size() == batchSize) {
+                    importBatch(batch, progress);
+                    batch.clear();
+                }
+                if (rowNumber % PROGRESS_LOG_INTERVAL == 0) {
+                    progress.log(rowNumber);
+                }
+            }
+            importBatch(batch, progress);
+            progress.log(rowNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read book import input", e);
+        }
+        return progress.toDto();
+    }
+
+    private boolean hasNextRow(MappingIterator<CreateBookRequestDto> rows, long rowNumber,
+                               ImportProgress progress) throws IOException {
+        try {
+            return rows.hasNextValue();
+        } catch (JsonProcessingException e) {
+            progress.fail(rowNumber + 1, UNREADABLE_INPUT + e.getOriginalMessage());
+            return false;
+        }
+    }
+
+    private String validate(CreateBookRequestDto requestDto, Set<Long> knownCategoryIds) {
+        Set<ConstraintViolation<CreateBookRequestDto>> violations =
+                validator.validate(requestDto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": "
+                            + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (requestDto.getCategoryIds() != null) {
+            requestDto.getCategoryIds().removeIf(Objects::isNull);
+            for (Long categoryId : requestDto.getCategoryIds()) {
+                if (!knownCategoryIds.contains(categoryId)) {
+                    return "Can't find category by id " + categoryId;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void importBatch(List<Row> batch, ImportProgress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> seenIsbns = new HashSet<>(bookRepository.findExistingIsbns(
+                batch.stream().map(row -> row.requestDto().getIsbn()).toList()));
+        List<Row> newRows = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (seenIsbns.add(row.requestDto().getIsbn())) {
+                newRows.add(row);
+            } else {
+                progress.skipped++;
+            }
+        }
+        if (newRows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> bookIds = new HashSet<>();
+                for (Row row : newRows) {
+                    Book book = bookMapper.toEntity(row.requestDto());
+                    book.setCategories(getCategoryReferences(row.requestDto().getCategoryIds()));
+                    entityManager.persist(book);
+                    bookIds.add(book.getId());
+                }
+                entityManager.flush();
+                entityManager.clear();
+                eventPublisher.publishEvent(new BookChangedEvent(bookIds));
+            });
+            progress.imported += newRows.size();
+        } catch (DataAccessException e) {
+            String message = "Batch rejected by the database: "
+                    + e.getMostSpecificCause().getMessage();
+            newRows.forEach(row -> progress.fail(row.number(), message));
+        }
+    }
+
+    private Set<Category> getCategoryReferences(Set<Long> categoryIds) {
+        if (categoryIds == null) {
+            return new HashSet<>();
+        }
+        return categoryIds.stream()
+                .map(id -> entityManager.getReference(Category.class, id))
+                .collect(Collectors.toSet());
+    }
+
+    private record Row(long number, CreateBookRequestDto requestDto) {
+    }
+
+    private static final class ImportProgress {
+        private final Set<Long> categoryIds;
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private final long startedAt = System.nanoTime();
+        private long imported;
+        private long skipped;
+        private long failed;
+
+        private ImportProgress(Set<Long> categoryIds) {
+            this.categoryIds = categoryIds;
+        }
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportErrorDto(row, message));
+            }
+        }
+
+        private void log(long rowsRead) {
+            double seconds = Math.max(System.nanoTime() - startedAt, 1) / 1e9;
+            log.info("Book import: {} rows read, {} imported, {} skipped, {} failed "
+                    + "({} rows/s)", rowsRead, imported, skipped, failed,
+                    Math.round(rowsRead / seconds));
+        }
+
+        private BookImportResultDto toDto() {
+            return new BookImportResultDto(imported, skipped, failed, List.copyOf(errors));
+        }
+    }
+}
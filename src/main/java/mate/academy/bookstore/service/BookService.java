@@ -1,10 +1,15 @@
 package mate.academy.bookstore.service;
 
 import java.util.List;
+import mate.academy.bookstore.dto.book.BookBatchDto;
+import mate.academy.bookstore.dto.book.BookCursorPageDto;
 import mate.academy.bookstore.dto.book.BookDto;
 import mate.academy.bookstore.dto.book.BookDtoWithoutCategoryIds;
+import mate.academy.bookstore.dto.book.BookFacetedSearchDto;
 import mate.academy.bookstore.dto.book.BookSearchParameters;
+import mate.academy.bookstore.dto.book.BookSuggestionDto;
 import mate.academy.bookstore.dto.book.CreateBookRequestDto;
+import mate.academy.bookstore.dto.book.PatchBookRequestDto;
 import org.springframework.data.domain.Pageable;
 
 public interface BookService {
@@ -12,13 +17,27 @@ public interface BookService {
 
     List<BookDto> findAll(Pageable pageable);
 
+    BookCursorPageDto findAll(String cursor, int size);
+
     BookDto findById(Long id);
 
+    BookBatchDto findAllByIds(List<Long> ids);
+
     void deleteById(Long id);
 
     BookDto update(Long id, BookDto bookDto);
 
+    void patch(Long id, PatchBookRequestDto requestDto);
+
     List<BookDto> search(BookSearchParameters params, Pageable pageable);
 
-    List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long id);
+    BookCursorPageDto search(BookSearchParameters params, String cursor, int size);
+
+    long count(BookSearchParameters params);
+
+    BookFacetedSearchDto searchFaceted(BookSearchParameters params, Pageable pageable);
+
+    List<BookSuggestionDto> suggest(String prefix, int limit);
+
+    List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long id, Pageable pageable);
 }
@@ -1,13 +1,29 @@
 package mate.academy.bookstore.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import mate.academy.bookstore.config.CacheConfig;
+import mate.academy.bookstore.dto.book.BookBatchDto;
+import mate.academy.bookstore.dto.book.BookCursor;
+import mate.academy.bookstore.dto.book.BookCursorPageDto;
 import mate.academy.bookstore.dto.book.BookDto;
 import mate.academy.bookstore.dto.book.BookDtoWithoutCategoryIds;
+import mate.academy.bookstore.dto.book.BookFacetedSearchDto;
 import mate.academy.bookstore.dto.book.BookSearchParameters;
+import mate.academy.bookstore.dto.book.BookSuggestionDto;
 import mate.academy.bookstore.dto.book.CreateBookRequestDto;
+import mate.academy.bookstore.dto.book.PatchBookRequestDto;
+import mate.academy.bookstore.event.BookChangedEvent;
+import mate.academy.bookstore.event.CategoryChangedEvent;
 import mate.academy.bookstore.exception.EntityNotFoundException;
 import mate.academy.bookstore.mapper.BookMapper;
 import mate.academy.bookstore.model.Book;
@@ -15,34 +31,63 @@ import mate.academy.bookstore.model.Category;
 import mate.academy.bookstore.repository.book.BookRepository;
 import mate.academy.bookstore.repository.book.BookSpecificationBuilder;
 import mate.academy.bookstore.repository.category.CategoryRepository;
+import mate.academy.bookstore.search.BookFacetIndex;
+import mate.academy.bookstore.search.BookSearchIndex;
+import mate.academy.bookstore.search.BookSuggestionIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
 
 @RequiredArgsConstructor
 @Service
 public class BookServiceImpl implements BookService {
+    private static final Sort KEYSET_SORT = Sort.by("title", "author", "id");
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilder bookSpecificationBuilder;
     private final CategoryRepository categoryRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    @Value("${search.index.max-hits}")
+    private int maxSearchHits;
 
     @Override
     public BookDto save(CreateBookRequestDto requestDto) {
         Book book = bookMapper.toEntity(requestDto);
         book.setCategories(getCategoriesFromIds(requestDto.getCategoryIds()));
-        return bookMapper.toDto(bookRepository.save(book));
+        Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.of(savedBook.getId()));
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
     public List<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable)
-                .map(bookMapper::toDto)
-                .toList();
+        return toDtoList(bookRepository.findSlice(Specification.where(null), pageable)
+                .getContent());
     }
 
     @Override
+    public BookCursorPageDto findAll(String cursor, int size) {
+        return findPage(Specification.where(null), cursor, size);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookDto findById(Long id) {
         Book book = bookRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Can't find book by id " + id)
@@ -50,13 +95,55 @@ public class BookServiceImpl implements BookService {
         return bookMapper.toDto(book);
     }
 
+    /**
+     * Books already in the books cache are taken from there; the rest are
+     * read with one {@code IN} query plus one category query and cached.
+     */
+    @Override
+    public BookBatchDto findAllByIds(List<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        Map<Long, BookDto> booksById = new HashMap<>();
+        List<Long> uncachedIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            BookDto cached = cache == null ? null : cache.get(id, BookDto.class);
+            if (cached != null) {
+                booksById.put(id, cached);
+            } else {
+                uncachedIds.add(id);
+            }
+        }
+        if (!uncachedIds.isEmpty()) {
+            for (BookDto book : toDtoList(bookRepository.findAllById(uncachedIds))) {
+                booksById.put(book.getId(), book);
+                if (cache != null) {
+                    cache.put(book.getId(), book);
+                }
+            }
+        }
+        List<BookDto> books = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            BookDto book = booksById.get(id);
+            if (book != null) {
+                books.add(book);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BookBatchDto(books, missingIds);
+    }
+
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public void deleteById(Long id) {
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(BookChangedEvent.of(id));
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookDto update(Long id, BookDto bookDto) {
         Book existingBook = bookRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Can't find book by id " + id));
@@ -64,21 +151,158 @@ public class BookServiceImpl implements BookService {
         bookMapper.updateModelFromDto(bookDto, existingBook);
         existingBook.setCategories(getCategoriesFromIds(bookDto.getCategoryIds()));
         Book updatedBook = bookRepository.save(existingBook);
+        eventPublisher.publishEvent(BookChangedEvent.of(id));
         return bookMapper.toDto(updatedBook);
     }
 
+    /**
+     * One {@code UPDATE} of the given columns plus the version; the category
+     * links are rewritten only when {@code categoryIds} is present.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
+    public void patch(Long id, PatchBookRequestDto requestDto) {
+        Map<String, Object> values = new HashMap<>();
+        putIfPresent(values, "title", requestDto.getTitle());
+        putIfPresent(values, "author", requestDto.getAuthor());
+        putIfPresent(values, "isbn", requestDto.getIsbn());
+        putIfPresent(values, "price", requestDto.getPrice());
+        putIfPresent(values, "description", requestDto.getDescription());
+        putIfPresent(values, "coverImage", requestDto.getCoverImage());
+        if (bookRepository.updateAttributes(id, values) == 0) {
+            throw new EntityNotFoundException("Can't find book by id " + id);
+        }
+        Set<Long> categoryIds = requestDto.getCategoryIds();
+        if (categoryIds != null) {
+            bookRepository.deleteCategoryLinks(id);
+            if (!categoryIds.isEmpty()) {
+                bookRepository.insertCategoryLinks(id, categoryIds);
+            }
+        }
+        eventPublisher.publishEvent(BookChangedEvent.of(id));
+    }
+
     @Override
     public List<BookDto> search(BookSearchParameters params, Pageable pageable) {
+        if (StringUtils.hasText(params.query())) {
+            return findAllInOrder(bookSearchIndex.search(params,
+                    offsetOf(pageable), pageable.getPageSize()));
+        }
         Specification<Book> bookSpecification = bookSpecificationBuilder.build(params);
-        return bookRepository.findAll(bookSpecification, pageable)
-                .map(bookMapper::toDto)
-                .toList();
+        return toDtoList(bookRepository.findSlice(bookSpecification, pageable).getContent());
     }
 
     @Override
-    public List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long id) {
-        List<Book> books = bookRepository.findAllByCategoryId(id);
-        return bookMapper.toDtoWithoutCategoriesList(books);
+    public BookCursorPageDto search(BookSearchParameters params, String cursor, int size) {
+        Specification<Book> spec = bookSpecificationBuilder.build(params);
+        if (StringUtils.hasText(params.query())) {
+            List<Long> matchingIds = bookSearchIndex.search(params, 0, maxSearchHits);
+            spec = spec.and((root, query, criteriaBuilder) -> root.get("id").in(matchingIds));
+        }
+        return findPage(spec, cursor, size);
+    }
+
+    /**
+     * Counts of the exact-match filters are cached until the next catalog
+     * write; free-text counts come straight from the search index, which is
+     * refreshed asynchronously and so can't share that invalidation.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOK_COUNTS_CACHE, key = "#params.filterKey()",
+            condition = "!T(org.springframework.util.StringUtils).hasText(#params.query())")
+    public long count(BookSearchParameters params) {
+        if (StringUtils.hasText(params.query())) {
+            return bookSearchIndex.count(params);
+        }
+        return bookRepository.count(bookSpecificationBuilder.build(params));
+    }
+
+    @TransactionalEventListener(classes = {BookChangedEvent.class, CategoryChangedEvent.class},
+            fallbackExecution = true)
+    public void evictCounts() {
+        Cache cache = cacheManager.getCache(CacheConfig.BOOK_COUNTS_CACHE);
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * A free-text query or title filter first narrows the candidates through
+     * the search index; everything else, including the counts, comes from
+     * the facet bitmaps.
+     */
+    @Override
+    public BookFacetedSearchDto searchFaceted(BookSearchParameters params, Pageable pageable) {
+        List<Long> rankedIds = null;
+        if (StringUtils.hasText(params.query())
+                || params.titles() != null && params.titles().length > 0) {
+            rankedIds = bookSearchIndex.search(new BookSearchParameters(
+                    params.titles(), null, params.query(), null, null, null), 0, maxSearchHits);
+        }
+        BookFacetIndex.Result result = bookFacetIndex.search(params, rankedIds,
+                offsetOf(pageable), pageable.getPageSize());
+        return new BookFacetedSearchDto(findAllInOrder(result.ids()), result.total(),
+                result.categories(), result.authors(), result.priceBands());
+    }
+
+    @Override
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        return bookSuggestionIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    public List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long id, Pageable pageable) {
+        return bookRepository.findDtosByCategoryId(id, pageable);
+    }
+
+    /**
+     * The in-memory indexes page with int offsets; larger offsets are past
+     * every result anyway, so they are capped rather than wrapped negative.
+     */
+    private static int offsetOf(Pageable pageable) {
+        return (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE);
+    }
+
+    private BookCursorPageDto findPage(Specification<Book> spec, String cursor, int size) {
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(bookSpecificationBuilder.after(BookCursor.decode(cursor)));
+        }
+        List<Book> books = bookRepository.findBy(spec, query -> query
+                .sortBy(KEYSET_SORT)
+                .limit(size + 1)
+                .all());
+        if (books.size() <= size) {
+            return new BookCursorPageDto(toDtoList(books), null);
+        }
+        List<Book> page = books.subList(0, size);
+        String nextCursor = BookCursor.of(page.get(size - 1)).encode();
+        return new BookCursorPageDto(toDtoList(page), nextCursor);
+    }
+
+    private List<BookDto> findAllInOrder(List<Long> ids) {
+        Map<Long, Book> booksById = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return toDtoList(ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    private List<BookDto> toDtoList(List<Book> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        List<Long> bookIds = books.stream()
+                .map(Book::getId)
+                .toList();
+        return bookMapper.toDtoList(books, bookRepository.getCategoryIdsByBookId(bookIds));
+    }
+
+    private void putIfPresent(Map<String, Object> values, String attribute, Object value) {
+        if (value != null) {
+            values.put(attribute, value);
+        }
     }
 
     private Set<Category> getCategoriesFromIds(Set<Long> categoryIds) {
@@ -0,0 +1,345 @@
+package mate.academy.bookstore.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import mate.academy.bookstore.dto.cartitem.CartItemDto;
+import mate.academy.bookstore.dto.shoppingcart.ShoppingCartDto;
+import mate.academy.bookstore.exception.EntityNotFoundException;
+import mate.academy.bookstore.mapper.ShoppingCartMapper;
+import mate.academy.bookstore.repository.cartitem.CartItemQuantity;
+import mate.academy.bookstore.repository.cartitem.CartItemRepository;
+import mate.academy.bookstore.repository.shoppingcart.ShoppingCartRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind mode for carts, on when {@code cart.write-behind.enabled} is
+ * set. The cart of each active user lives here and is changed in memory;
+ * every {@code cart.write-behind.flush-interval} the books whose quantity
+ * changed are written to {@code cart_items} as absolute quantities in one
+ * JDBC batch, so +1, -1 and remove between two flushes cost at most one row.
+ *
+ * <p>A crash loses the changes made since the last successful flush: at
+ * most one interval plus the flush itself while the database is reachable.
+ * When flushes fail the changes are kept and retried, and
+ * {@code cart.write_behind.oldest_pending} reports how old they get.
+ *
+ * <p>Flushes are serialized and run in their own transaction, so a flush
+ * done before an order isn't rolled back with it. Carts with nothing left
+ * to write are dropped after each flush and reloaded on the next access.
+ * A change that puts a new book in the cart is written and the cart
+ * reloaded before it returns, so every item handed out has its id; only
+ * quantity changes and removals of stored items are deferred.
+ *
+ * <p>The cart in memory is the only copy that is up to date, so this mode
+ * needs a single node, or sticky sessions that send all of a user's
+ * requests to the same node. With several nodes serving one user each
+ * would overwrite the other's quantities.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cart.write-behind.enabled", havingValue = "true")
+public class CartWriteBehindStore {
+    private final Map<Long, UserCart> carts = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ShoppingCartMapper shoppingCartMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter mutations;
+    private final Counter writtenRows;
+    private final Counter failedFlushes;
+    private final Timer flushTimer;
+
+    public CartWriteBehindStore(ShoppingCartRepository shoppingCartRepository,
+                                CartItemRepository cartItemRepository,
+                                ShoppingCartMapper shoppingCartMapper,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.shoppingCartMapper = shoppingCartMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.mutations = meterRegistry.counter("cart.write_behind.mutations");
+        this.writtenRows = meterRegistry.counter("cart.write_behind.rows");
+        this.failedFlushes = meterRegistry.counter("cart.write_behind.failed_flushes");
+        this.flushTimer = meterRegistry.timer("cart.write_behind.flush");
+        Gauge.builder("cart.write_behind.pending_carts", this, CartWriteBehindStore::countPending)
+                .register(meterRegistry);
+        Gauge.builder("cart.write_behind.oldest_pending", this,
+                        CartWriteBehindStore::oldestPending)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public ShoppingCartDto getCart(Long userId) {
+        return change(userId, cart -> { });
+    }
+
+    /**
+     * Applies the change to the user's cart, loading it first if it isn't in
+     * memory, and returns the cart as it is afterwards. If the cart then
+     * holds items that aren't stored yet it is flushed and reloaded, so the
+     * returned items all have ids.
+     */
+    public ShoppingCartDto change(Long userId, Consumer<UserCart> change) {
+        boolean applied = false;
+        while (true) {
+            UserCart cart = cartOf(userId);
+            synchronized (cart) {
+                if (cart.evicted) {
+                    continue;
+                }
+                if (!applied) {
+                    change.accept(cart);
+                    applied = true;
+                }
+                if (!cart.hasNewItems()) {
+                    return cart.toDto();
+                }
+            }
+            flushAndEvict(userId);
+        }
+    }
+
+    /**
+     * Writes the user's pending changes now and drops the cart from memory,
+     * for callers that read or change {@code cart_items} directly.
+     */
+    public void flushAndEvict(Long userId) {
+        flushLock.lock();
+        try {
+            UserCart cart = carts.get(userId);
+            if (cart == null) {
+                return;
+            }
+            synchronized (cart) {
+                write(List.of(cart));
+                evict(cart);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${cart.write-behind.flush-interval}")
+    public void flushAll() {
+        flushLock.lock();
+        try {
+            List<UserCart> flushed = new ArrayList<>(carts.values());
+            try {
+                write(flushed);
+            } catch (DataAccessException e) {
+                log.warn("Cart flush failed, keeping the changes for the next one", e);
+                return;
+            }
+            for (UserCart cart : flushed) {
+                synchronized (cart) {
+                    if (cart.dirtyBookIds.isEmpty()) {
+                        evict(cart);
+                    }
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<UserCart> toFlush) {
+        Map<UserCart, Pending> taken = new IdentityHashMap<>();
+        List<CartItemQuantity> quantities = new ArrayList<>();
+        for (UserCart cart : toFlush) {
+            synchronized (cart) {
+                if (cart.dirtyBookIds.isEmpty()) {
+                    continue;
+                }
+                taken.put(cart, new Pending(cart.dirtyBookIds, cart.dirtySince));
+                cart.dirtyBookIds.forEach(bookId -> quantities.add(new CartItemQuantity(
+                        cart.shoppingCartId, bookId, cart.quantityOf(bookId))));
+                cart.dirtyBookIds = new HashSet<>();
+                cart.dirtySince = 0;
+            }
+        }
+        if (quantities.isEmpty()) {
+            return;
+        }
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(
+                    status -> cartItemRepository.writeQuantities(quantities)));
+        } catch (RuntimeException e) {
+            taken.forEach((cart, pending) -> {
+                synchronized (cart) {
+                    cart.dirtyBookIds.addAll(pending.bookIds());
+                    cart.dirtySince = pending.dirtySince();
+                }
+            });
+            failedFlushes.increment();
+            throw e;
+        }
+        writtenRows.increment(quantities.size());
+    }
+
+    private void evict(UserCart cart) {
+        cart.evicted = true;
+        evictions.incrementAndGet();
+        carts.remove(cart.userId, cart);
+    }
+
+    /**
+     * Returns the user's cart, loading it outside the map so the query
+     * doesn't hold a map bin lock. A cart loaded while another copy was
+     * flushed and evicted may miss that flush, so it is thrown away and the
+     * caller, seeing it evicted, loads again.
+     */
+    private UserCart cartOf(Long userId) {
+        UserCart cart = carts.get(userId);
+        if (cart != null) {
+            return cart;
+        }
+        final long evictionsBeforeLoad = evictions.get();
+        UserCart loaded = load(userId);
+        cart = carts.putIfAbsent(userId, loaded);
+        if (cart != null) {
+            return cart;
+        }
+        if (evictions.get() != evictionsBeforeLoad) {
+            synchronized (loaded) {
+                evict(loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private UserCart load(Long userId) {
+        ShoppingCartDto cart = shoppingCartMapper.toDto(
+                shoppingCartRepository.findWithItemsByUserId(userId)
+                        .orElseThrow(() -> new EntityNotFoundException("Shopping cart not "
+                                + "found for user id " + userId)));
+        return new UserCart(userId, cart, mutations);
+    }
+
+    private double countPending() {
+        return carts.values().stream()
+                .filter(cart -> cart.dirtySince != 0)
+                .count();
+    }
+
+    private double oldestPending() {
+        long now = System.nanoTime();
+        return carts.values().stream()
+                .mapToLong(cart -> cart.dirtySince)
+                .filter(dirtySince -> dirtySince != 0)
+                .map(dirtySince -> now - dirtySince)
+                .max()
+                .orElse(0) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * A user's cart in memory, keyed by book id. A quantity of zero or less
+     * removes the book.
+     */
+    public static class UserCart {
+        private final Long userId;
+        private final Long shoppingCartId;
+        private final Map<Long, CartItemDto> items = new LinkedHashMap<>();
+        private final Counter mutations;
+        private Set<Long> dirtyBookIds = new HashSet<>();
+        private long dirtySince;
+        private boolean evicted;
+
+        private UserCart(Long userId, ShoppingCartDto cart, Counter mutations) {
+            this.userId = userId;
+            this.shoppingCartId = cart.getId();
+            this.mutations = mutations;
+            cart.getCartItems().forEach(item -> items.put(item.getBookId(), item));
+        }
+
+        public void add(Long bookId, String bookTitle, int quantity) {
+            CartItemDto item = items.get(bookId);
+            set(bookId, bookTitle, item == null ? quantity : item.getQuantity() + quantity);
+        }
+
+        public void set(Long bookId, String bookTitle, int quantity) {
+            if (quantity <= 0) {
+                remove(bookId);
+                return;
+            }
+            CartItemDto item = items.computeIfAbsent(bookId, id -> {
+                CartItemDto newItem = new CartItemDto();
+                newItem.setBookId(id);
+                newItem.setBookTitle(bookTitle);
+                return newItem;
+            });
+            item.setQuantity(quantity);
+            markDirty(bookId);
+        }
+
+        public void remove(Long bookId) {
+            if (items.remove(bookId) != null) {
+                markDirty(bookId);
+            }
+        }
+
+        private boolean hasNewItems() {
+            return items.values().stream().anyMatch(item -> item.getId() == null);
+        }
+
+        private int quantityOf(Long bookId) {
+            CartItemDto item = items.get(bookId);
+            return item == null ? 0 : item.getQuantity();
+        }
+
+        private void markDirty(Long bookId) {
+            if (dirtySince == 0) {
+                dirtySince = System.nanoTime();
+            }
+            dirtyBookIds.add(bookId);
+            mutations.increment();
+        }
+
+        private ShoppingCartDto toDto() {
+            ShoppingCartDto cart = new ShoppingCartDto();
+            cart.setId(shoppingCartId);
+            cart.setUserId(userId);
+            Set<CartItemDto> cartItems = new HashSet<>();
+            items.values().forEach(item -> {
+                CartItemDto copy = new CartItemDto();
+                copy.setId(item.getId());
+                copy.setBookId(item.getBookId());
+                copy.setBookTitle(item.getBookTitle());
+                copy.setQuantity(item.getQuantity());
+                cartItems.add(copy);
+            });
+            cart.setCartItems(cartItems);
+            return cart;
+        }
+    }
+
+    private record Pending(Set<Long> bookIds, long dirtySince) {
+    }
+}
@@ -8,6 +8,10 @@ public interface CategoryService {
 
     CategoryDto getById(Long id);
 
+    long getVersion(Long id);
+
+    String getListVersion();
+
     CategoryDto save(CategoryDto categoryDto);
 
     CategoryDto update(Long id, CategoryDto categoryDto);
@@ -1,19 +1,32 @@
 package mate.academy.bookstore.service;
 
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import mate.academy.bookstore.config.CacheConfig;
 import mate.academy.bookstore.dto.category.CategoryDto;
+import mate.academy.bookstore.event.BookChangedEvent;
+import mate.academy.bookstore.event.CategoryChangedEvent;
 import mate.academy.bookstore.exception.EntityNotFoundException;
 import mate.academy.bookstore.mapper.CategoryMapper;
 import mate.academy.bookstore.model.Category;
+import mate.academy.bookstore.repository.book.BookRepository;
+import mate.academy.bookstore.repository.category.CategoryListVersion;
 import mate.academy.bookstore.repository.category.CategoryRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final BookRepository bookRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<CategoryDto> findAll() {
@@ -28,23 +41,64 @@ public class CategoryServiceImpl implements CategoryService {
         return categoryMapper.toDto(category);
     }
 
+    @Override
+    public long getVersion(Long id) {
+        return categoryRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Can't find category by id " + id));
+    }
+
+    /**
+     * Any insert raises the max id or the count, any update raises the version
+     * sum and any delete lowers the count, so the tag changes with every write.
+     */
+    @Override
+    public String getListVersion() {
+        CategoryListVersion version = categoryRepository.getListVersion();
+        return version.getCount() + "-" + version.getMaxId() + "-" + version.getVersionSum();
+    }
+
     @Override
     public CategoryDto save(CategoryDto categoryDto) {
         Category category = categoryMapper.toEntity(categoryDto);
-        return categoryMapper.toDto(categoryRepository.save(category));
+        Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
+        return categoryMapper.toDto(savedCategory);
     }
 
     @Override
+    @Transactional
     public CategoryDto update(Long id, CategoryDto categoryDto) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Can't find category by id " + id));
         category.setName(categoryDto.getName());
         category.setDescription(categoryDto.getDescription());
+        publishBooksOfCategoryChanged(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
         return categoryMapper.toDto(categoryRepository.save(category));
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
+        publishBooksOfCategoryChanged(id);
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+    }
+
+    /**
+     * Evicts the category's books from the books cache and tells the book
+     * indexes to reload them, since their category facets change with it.
+     * The ids are read before a delete drops the links.
+     */
+    private void publishBooksOfCategoryChanged(Long categoryId) {
+        List<Long> bookIds = bookRepository.findIdsByCategoryId(categoryId);
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        Cache booksCache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        if (booksCache != null) {
+            bookIds.forEach(booksCache::evict);
+        }
+        eventPublisher.publishEvent(new BookChangedEvent(Set.copyOf(bookIds)));
     }
 }
@@ -0,0 +1,173 @@
+package mate.academy.bookstore.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import mate.academy.bookstore.repository.orderrequest.OrderRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Turns queued {@code order_requests} into orders. {@code order.requests.workers}
+ * threads each claim up to {@code order.requests.batch-size} requests with
+ * {@code FOR UPDATE SKIP LOCKED} and create their orders and items with a
+ * fixed number of set-based statements in one transaction, so any number of
+ * threads and nodes can drain the same table. A worker that finds less than
+ * a full batch waits {@code order.requests.poll-interval} before the next.
+ *
+ * <p>When a batch fails it is rolled back and its requests are retried one
+ * per transaction; a request that fails on its own is marked
+ * {@code FAILED} and its snapshot kept. Set the worker count to 0 on nodes
+ * that should only accept requests.
+ */
+@Slf4j
+@Component
+public class OrderRequestWorker {
+    static final String FAILURE_REASON = "The order could not be created";
+
+    private final OrderRequestRepository orderRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Counter completed;
+    private final Counter failed;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public OrderRequestWorker(OrderRequestRepository orderRequestRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${order.requests.workers}") int workers,
+                              @Value("${order.requests.batch-size}") int batchSize,
+                              @Value("${order.requests.poll-interval}") Duration pollInterval) {
+        this.orderRequestRepository = orderRequestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.completed = meterRegistry.counter("order.requests.completed");
+        this.failed = meterRegistry.counter("order.requests.failed");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (workers <= 0) {
+            return;
+        }
+        running = true;
+        executor = Executors.newFixedThreadPool(workers,
+                new CustomizableThreadFactory("order-request-worker-"));
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Claims and fulfils one batch of queued requests, falling back to one
+     * request per transaction when the batch fails. Returns the number of
+     * requests taken off the queue.
+     */
+    int processBatch() {
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> claimed = orderRequestRepository.lockQueuedIds(batchSize);
+                if (!claimed.isEmpty()) {
+                    fulfil(claimed);
+                }
+                return claimed;
+            });
+            completed.increment(ids.size());
+            return ids.size();
+        } catch (DataAccessException e) {
+            log.warn("Order request batch failed, retrying its requests one by one", e);
+            return processOneByOne();
+        }
+    }
+
+    private int processOneByOne() {
+        int processed = 0;
+        while (processed < batchSize) {
+            List<Long> claimed = new ArrayList<>(1);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    claimed.addAll(orderRequestRepository.lockQueuedIds(1));
+                    if (!claimed.isEmpty()) {
+                        fulfil(claimed);
+                    }
+                });
+                if (claimed.isEmpty()) {
+                    break;
+                }
+                completed.increment();
+            } catch (DataAccessException e) {
+                if (claimed.isEmpty()) {
+                    throw e;
+                }
+                log.error("Order request {} failed", claimed.get(0), e);
+                transactionTemplate.executeWithoutResult(status ->
+                        orderRequestRepository.markFailed(claimed.get(0), FAILURE_REASON));
+                failed.increment();
+            }
+            processed++;
+        }
+        return processed;
+    }
+
+    private void fulfil(List<Long> ids) {
+        orderRequestRepository.insertOrders(ids);
+        orderRequestRepository.insertOrderItems(ids);
+        orderRequestRepository.deleteItems(ids);
+        orderRequestRepository.markCompleted(ids);
+    }
+
+    private void drain() {
+        while (running) {
+            int processed;
+            try {
+                processed = processBatch();
+            } catch (DataAccessException e) {
+                log.warn("Could not claim order requests", e);
+                processed = 0;
+            }
+            if (processed < batchSize && !pause()) {
+                return;
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
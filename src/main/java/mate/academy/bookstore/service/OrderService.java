@@ -1,17 +1,22 @@
 package mate.academy.bookstore.service;
 
-import java.util.List;
 import java.util.Set;
 import mate.academy.bookstore.dto.order.CreateOrderRequestDto;
+import mate.academy.bookstore.dto.order.OrderCursorPageDto;
 import mate.academy.bookstore.dto.order.OrderDto;
+import mate.academy.bookstore.dto.order.OrderRequestDto;
 import mate.academy.bookstore.dto.orderitem.OrderItemDto;
 import mate.academy.bookstore.model.Order;
 
 public interface OrderService {
-    List<OrderDto> getOrders(Long userId);
+    OrderCursorPageDto getOrders(Long userId, Order.Status status, String cursor, int size);
 
     OrderDto createOrder(Long userId, CreateOrderRequestDto createOrderRequestDto);
 
+    OrderRequestDto requestOrder(Long userId, CreateOrderRequestDto createOrderRequestDto);
+
+    OrderRequestDto getOrderRequest(Long userId, Long orderId);
+
     OrderDto updateOrderStatus(Long orderId, Order.Status status);
 
     Set<OrderItemDto> getOrderItems(Long orderId);
@@ -2,21 +2,33 @@ package mate.academy.bookstore.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import mate.academy.bookstore.dto.order.CreateOrderRequestDto;
+import mate.academy.bookstore.dto.order.OrderCursor;
+import mate.academy.bookstore.dto.order.OrderCursorPageDto;
 import mate.academy.bookstore.dto.order.OrderDto;
+import mate.academy.bookstore.dto.order.OrderRequestDto;
 import mate.academy.bookstore.dto.orderitem.OrderItemDto;
 import mate.academy.bookstore.exception.EntityNotFoundException;
 import mate.academy.bookstore.mapper.OrderItemMapper;
 import mate.academy.bookstore.mapper.OrderMapper;
 import mate.academy.bookstore.model.Order;
 import mate.academy.bookstore.model.OrderItem;
-import mate.academy.bookstore.model.ShoppingCart;
+import mate.academy.bookstore.model.OrderRequest;
+import mate.academy.bookstore.repository.cartitem.CartItemRepository;
 import mate.academy.bookstore.repository.order.OrderRepository;
 import mate.academy.bookstore.repository.orderitem.OrderItemRepository;
+import mate.academy.bookstore.repository.orderitem.OrderItemView;
+import mate.academy.bookstore.repository.orderrequest.OrderRequestRepository;
 import mate.academy.bookstore.repository.shoppingcart.ShoppingCartRepository;
+import mate.academy.bookstore.repository.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,38 +40,112 @@ public class OrderServiceImpl implements OrderService {
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
     private final ShoppingCartRepository shoppingCartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final UserRepository userRepository;
+    private final OrderRequestRepository orderRequestRepository;
+
+    @Autowired(required = false)
+    private CartWriteBehindStore cartWriteBehindStore;
 
     @Override
-    @Transactional
-    public List<OrderDto> getOrders(Long userId) {
-        List<Order> orders = orderRepository.findByUserId(userId);
-        if (orders.isEmpty()) {
-            throw new EntityNotFoundException("No orders found "
-                    + "for user with id " + userId);
+    @Transactional(readOnly = true)
+    public OrderCursorPageDto getOrders(Long userId, Order.Status status, String cursor,
+                                        int size) {
+        Limit limit = Limit.of(size + 1);
+        List<Order> orders;
+        if (cursor != null && !cursor.isBlank()) {
+            OrderCursor after = OrderCursor.decode(cursor);
+            orders = orderRepository.findPageAfter(userId, status, after.orderDate(),
+                    after.id(), limit);
+        } else {
+            orders = orderRepository.findPage(userId, status, limit);
+        }
+        if (orders.size() <= size) {
+            return new OrderCursorPageDto(toDtos(orders), null);
         }
-        return orderMapper.map(orders);
+        List<Order> page = orders.subList(0, size);
+        String nextCursor = OrderCursor.of(page.get(size - 1)).encode();
+        return new OrderCursorPageDto(toDtos(page), nextCursor);
     }
 
+    /**
+     * Constant number of statements whatever the cart size: the items are
+     * copied with one {@code INSERT ... SELECT}, the cart is emptied with one
+     * {@code DELETE}, and the items are read back once for their ids and the
+     * total. Summing the written items keeps the total equal to them without
+     * locking the books for the rest of the checkout.
+     */
     @Override
     @Transactional
     public OrderDto createOrder(Long userId, CreateOrderRequestDto createOrderRequestDto) {
-        ShoppingCart shoppingCart = shoppingCartRepository.findByUserId(userId)
+        if (cartWriteBehindStore != null) {
+            cartWriteBehindStore.flushAndEvict(userId);
+        }
+        final Long shoppingCartId = shoppingCartRepository.findIdByUserId(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found "
                         + "for user id " + userId));
 
-        BigDecimal total = calculateTotal(shoppingCart);
+        Order order = new Order();
+        order.setUser(userRepository.getReferenceById(userId));
+        order.setStatus(Order.Status.PENDING);
+        order.setTotal(BigDecimal.ZERO);
+        order.setOrderDate(LocalDateTime.now());
+        order.setShippingAddress(createOrderRequestDto.getShippingAddress());
+        orderRepository.save(order);
 
-        Order order = createNewOrder(shoppingCart, total,
-                createOrderRequestDto.getShippingAddress());
+        orderItemRepository.insertFromCart(order.getId(), shoppingCartId);
+        cartItemRepository.deleteByShoppingCartId(shoppingCartId);
+
+        List<OrderItemView> items = orderItemRepository.findViewsByOrderIds(
+                List.of(order.getId()));
+        order.setTotal(items.stream()
+                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        OrderDto orderDto = orderMapper.toDtoWithoutItems(order);
+        orderDto.setOrderItems(items.stream()
+                .map(orderItemMapper::toDto)
+                .collect(Collectors.toSet()));
+        return orderDto;
+    }
 
-        createAndSaveOrderItems(shoppingCart, order);
+    /**
+     * Queues the checkout for {@link OrderRequestWorker}: the cart is copied
+     * into the request and emptied, nothing else is read or locked. Prices
+     * are taken when the order is created.
+     */
+    @Override
+    @Transactional
+    public OrderRequestDto requestOrder(Long userId,
+                                        CreateOrderRequestDto createOrderRequestDto) {
+        if (cartWriteBehindStore != null) {
+            cartWriteBehindStore.flushAndEvict(userId);
+        }
+        final Long shoppingCartId = shoppingCartRepository.findIdByUserId(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found "
+                        + "for user id " + userId));
 
-        clearShoppingCart(shoppingCart);
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setUser(userRepository.getReferenceById(userId));
+        orderRequest.setShippingAddress(createOrderRequestDto.getShippingAddress());
+        orderRequest.setStatus(OrderRequest.Status.QUEUED);
+        orderRequest.setCreatedAt(LocalDateTime.now());
+        orderRequestRepository.saveAndFlush(orderRequest);
 
-        OrderDto orderDto = orderMapper.toDto(order);
-        Set<OrderItemDto> orderItemDtos = getOrderItems(order.getId());
-        orderDto.setOrderItems(orderItemDtos);
-        return orderDto;
+        if (orderRequestRepository.insertItemsFromCart(orderRequest.getId(),
+                shoppingCartId) == 0) {
+            throw new EntityNotFoundException("Shopping cart is empty for user id " + userId);
+        }
+        cartItemRepository.deleteByShoppingCartId(shoppingCartId);
+        return toDto(orderRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderRequestDto getOrderRequest(Long userId, Long orderId) {
+        return orderRequestRepository.findByIdAndUserId(orderId, userId)
+                .map(this::toDto)
+                .orElseThrow(() -> new EntityNotFoundException("Order request with id "
+                        + orderId + " not found"));
     }
 
     @Override
@@ -100,37 +186,32 @@ public class OrderServiceImpl implements OrderService {
         return orderItemMapper.toDto(orderItem);
     }
 
-    private BigDecimal calculateTotal(ShoppingCart shoppingCart) {
-        return shoppingCart.getCartItems().stream()
-                .map(cartItem -> cartItem.getBook().getPrice()
-                        .multiply(BigDecimal.valueOf(cartItem.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private Order createNewOrder(ShoppingCart shoppingCart, BigDecimal total,
-                                 String shippingAddress) {
-        Order order = new Order();
-        order.setUser(shoppingCart.getUser());
-        order.setStatus(Order.Status.PENDING);
-        order.setTotal(total);
-        order.setOrderDate(LocalDateTime.now());
-        order.setShippingAddress(shippingAddress);
-        return orderRepository.save(order);
-    }
-
-    private void createAndSaveOrderItems(ShoppingCart shoppingCart, Order order) {
-        shoppingCart.getCartItems().forEach(cartItem -> {
-            OrderItem orderItem = new OrderItem();
-            orderItem.setOrder(order);
-            orderItem.setBook(cartItem.getBook());
-            orderItem.setQuantity(cartItem.getQuantity());
-            orderItem.setPrice(cartItem.getBook().getPrice());
-            orderItemRepository.save(orderItem);
-        });
+    /**
+     * Two queries whatever the number of orders: the orders are already
+     * loaded, and the items of all of them are read in one {@code IN} query
+     * whose rows carry the book ids, so neither the item collections nor
+     * the books are touched.
+     */
+    private List<OrderDto> toDtos(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Set<OrderItemDto>> itemsByOrderId = orderItemRepository
+                .findViewsByOrderIds(orders.stream().map(Order::getId).toList()).stream()
+                .collect(Collectors.groupingBy(OrderItemView::getOrderId,
+                        Collectors.mapping(orderItemMapper::toDto, Collectors.toSet())));
+        return orders.stream()
+                .map(order -> {
+                    OrderDto orderDto = orderMapper.toDtoWithoutItems(order);
+                    orderDto.setOrderItems(itemsByOrderId.getOrDefault(order.getId(),
+                            new HashSet<>()));
+                    return orderDto;
+                })
+                .toList();
     }
 
-    private void clearShoppingCart(ShoppingCart shoppingCart) {
-        shoppingCart.getCartItems().clear();
-        shoppingCartRepository.save(shoppingCart);
+    private OrderRequestDto toDto(OrderRequest orderRequest) {
+        return new OrderRequestDto(orderRequest.getId(), orderRequest.getStatus(),
+                orderRequest.getFailureReason());
     }
 }
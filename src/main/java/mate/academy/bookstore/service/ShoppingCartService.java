@@ -1,5 +1,6 @@
 package mate.academy.bookstore.service;
 
+import mate.academy.bookstore.dto.cartitem.CartBatchRequestDto;
 import mate.academy.bookstore.dto.cartitem.CreateCartItemRequestDto;
 import mate.academy.bookstore.dto.cartitem.UpdateCartItemRequestDto;
 import mate.academy.bookstore.dto.shoppingcart.ShoppingCartDto;
@@ -10,10 +11,12 @@ public interface ShoppingCartService {
 
     ShoppingCartDto addItemToCart(CreateCartItemRequestDto requestDto, Long userId);
 
+    ShoppingCartDto applyBatch(CartBatchRequestDto requestDto, Long userId);
+
     ShoppingCartDto updateCartItem(Long cartItemId, UpdateCartItemRequestDto requestDto,
                                    Long userId);
 
-    void removeCartItem(Long cartItemId);
+    void removeCartItem(Long cartItemId, Long userId);
 
     void createShoppingCart(User user);
 }
@@ -1,18 +1,27 @@
 package mate.academy.bookstore.service;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import mate.academy.bookstore.dto.cartitem.CartBatchRequestDto;
+import mate.academy.bookstore.dto.cartitem.CartItemOperationDto;
 import mate.academy.bookstore.dto.cartitem.CreateCartItemRequestDto;
 import mate.academy.bookstore.dto.cartitem.UpdateCartItemRequestDto;
 import mate.academy.bookstore.dto.shoppingcart.ShoppingCartDto;
 import mate.academy.bookstore.exception.EntityNotFoundException;
 import mate.academy.bookstore.mapper.ShoppingCartMapper;
-import mate.academy.bookstore.model.Book;
 import mate.academy.bookstore.model.CartItem;
 import mate.academy.bookstore.model.ShoppingCart;
 import mate.academy.bookstore.model.User;
 import mate.academy.bookstore.repository.book.BookRepository;
+import mate.academy.bookstore.repository.book.BookTitle;
 import mate.academy.bookstore.repository.cartitem.CartItemRepository;
 import mate.academy.bookstore.repository.shoppingcart.ShoppingCartRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,66 +33,114 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     private final BookRepository bookRepository;
     private final ShoppingCartMapper shoppingCartMapper;
 
+    @Autowired(required = false)
+    private CartWriteBehindStore cartWriteBehindStore;
+
     @Override
     @Transactional
     public ShoppingCartDto getShoppingCartForUser(Long userId) {
-        ShoppingCart shoppingCart = shoppingCartRepository.findByUserId(userId)
+        if (cartWriteBehindStore != null) {
+            return cartWriteBehindStore.getCart(userId);
+        }
+        ShoppingCart shoppingCart = shoppingCartRepository.findWithItemsByUserId(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found "
                         + "for user id " + userId));
         return shoppingCartMapper.toDto(shoppingCart);
     }
 
+    /**
+     * A single {@code INSERT ... ON DUPLICATE KEY UPDATE}, so concurrent adds
+     * of the same book add up instead of racing on a read-modify-write.
+     */
     @Override
     @Transactional
     public ShoppingCartDto addItemToCart(CreateCartItemRequestDto requestDto, Long userId) {
-        ShoppingCart shoppingCart = shoppingCartRepository.findByUserId(userId)
-                .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found "
-                        + "for user id " + userId));
-
-        Book book = bookRepository.findById(requestDto.getBookId())
-                .orElseThrow(() -> new EntityNotFoundException("Book not found for id "
-                        + requestDto.getBookId()));
-
-        CartItem cartItem = cartItemRepository.findByShoppingCartAndBook(shoppingCart, book)
-                .orElseGet(() -> {
-                    CartItem newCartItem = new CartItem();
-                    newCartItem.setShoppingCart(shoppingCart);
-                    newCartItem.setBook(book);
-                    newCartItem.setQuantity(requestDto.getQuantity());
-                    shoppingCart.getCartItems().add(newCartItem);
-                    return newCartItem;
-                });
+        Long bookId = requestDto.getBookId();
+        if (cartWriteBehindStore != null) {
+            String bookTitle = findTitles(Set.of(bookId)).get(bookId);
+            return cartWriteBehindStore.change(userId,
+                    cart -> cart.add(bookId, bookTitle, requestDto.getQuantity()));
+        }
+        if (cartItemRepository.upsertQuantity(userId, bookId, requestDto.getQuantity()) == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new EntityNotFoundException("Book not found for id " + bookId);
+            }
+            throw new EntityNotFoundException("Shopping cart not found for user id " + userId);
+        }
+        return getShoppingCartForUser(userId);
+    }
 
-        if (cartItem.getId() != null) {
-            cartItem.setQuantity(cartItem.getQuantity() + requestDto.getQuantity());
+    /**
+     * Operations on the same book are folded into one net change first; the
+     * books are then checked with one query and the changes written as one
+     * delete and two JDBC batches, whatever the number of operations.
+     */
+    @Override
+    @Transactional
+    public ShoppingCartDto applyBatch(CartBatchRequestDto requestDto, Long userId) {
+        CartChanges changes = new CartChanges();
+        requestDto.getOperations().forEach(changes::apply);
+        Set<Long> bookIds = new HashSet<>(changes.added.keySet());
+        bookIds.addAll(changes.updated.keySet());
+        if (cartWriteBehindStore != null) {
+            Map<Long, String> titles = findTitles(bookIds);
+            return cartWriteBehindStore.change(userId, cart -> {
+                changes.removed.forEach(cart::remove);
+                changes.updated.forEach((bookId, quantity) ->
+                        cart.set(bookId, titles.get(bookId), quantity));
+                changes.added.forEach((bookId, quantity) ->
+                        cart.add(bookId, titles.get(bookId), quantity));
+            });
         }
 
-        cartItemRepository.save(cartItem);
-        return shoppingCartMapper.toDto(shoppingCartRepository.save(shoppingCart));
+        Long shoppingCartId = shoppingCartRepository.findIdByUserId(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found "
+                        + "for user id " + userId));
+        if (!bookIds.isEmpty()) {
+            bookIds.removeAll(bookRepository.findExistingIds(bookIds));
+            if (!bookIds.isEmpty()) {
+                throw new EntityNotFoundException("Books not found for ids " + bookIds);
+            }
+        }
+        if (!changes.removed.isEmpty()) {
+            cartItemRepository.deleteByShoppingCartIdAndBookIds(shoppingCartId, changes.removed);
+        }
+        cartItemRepository.setQuantities(shoppingCartId, changes.updated);
+        cartItemRepository.addQuantities(shoppingCartId, changes.added);
+        return getShoppingCartForUser(userId);
     }
 
     @Override
     @Transactional
     public ShoppingCartDto updateCartItem(Long cartItemId, UpdateCartItemRequestDto requestDto,
                                           Long userId) {
-        ShoppingCart cart = shoppingCartRepository.findByUserId(userId)
+        if (cartWriteBehindStore != null) {
+            cartWriteBehindStore.flushAndEvict(userId);
+        }
+        Long shoppingCartId = shoppingCartRepository.findIdByUserId(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found "
                         + "for user id " + userId));
 
-        CartItem cartItem = cartItemRepository.findByIdAndShoppingCartId(cartItemId, cart.getId())
+        CartItem cartItem = cartItemRepository.findByIdAndShoppingCartId(cartItemId, shoppingCartId)
                 .orElseThrow(() -> new EntityNotFoundException("Cart item not found for id "
-                        + cartItemId + " and cart id " + cart.getId()));
+                        + cartItemId + " and cart id " + shoppingCartId));
 
         cartItem.setQuantity(requestDto.getQuantity());
-        return shoppingCartMapper.toDto(cartItemRepository.save(cartItem).getShoppingCart());
+        return getShoppingCartForUser(userId);
     }
 
     @Override
     @Transactional
-    public void removeCartItem(Long cartItemId) {
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
+    public void removeCartItem(Long cartItemId, Long userId) {
+        if (cartWriteBehindStore != null) {
+            cartWriteBehindStore.flushAndEvict(userId);
+        }
+        Long shoppingCartId = shoppingCartRepository.findIdByUserId(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found "
+                        + "for user id " + userId));
+        CartItem cartItem = cartItemRepository.findByIdAndShoppingCartId(cartItemId, shoppingCartId)
                 .orElseThrow(() -> new EntityNotFoundException("Cart item not found for id "
-                        + cartItemId));
+                        + cartItemId + " and cart id " + shoppingCartId));
         cartItemRepository.delete(cartItem);
     }
 
@@ -93,4 +150,53 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
         shoppingCart.setUser(user);
         shoppingCartRepository.save(shoppingCart);
     }
+
+    private Map<Long, String> findTitles(Set<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> titles = bookRepository.findTitlesByIds(bookIds).stream()
+                .collect(Collectors.toMap(BookTitle::getId, BookTitle::getTitle));
+        if (titles.size() < bookIds.size()) {
+            Set<Long> missingIds = new HashSet<>(bookIds);
+            missingIds.removeAll(titles.keySet());
+            throw new EntityNotFoundException("Books not found for ids " + missingIds);
+        }
+        return titles;
+    }
+
+    /**
+     * Net effect of a list of operations per book: a quantity to add to the
+     * stored one, a quantity to set, or a removal.
+     */
+    private static class CartChanges {
+        private final Map<Long, Integer> added = new LinkedHashMap<>();
+        private final Map<Long, Integer> updated = new LinkedHashMap<>();
+        private final Set<Long> removed = new LinkedHashSet<>();
+
+        private void apply(CartItemOperationDto operation) {
+            Long bookId = operation.getBookId();
+            switch (operation.getAction()) {
+                case ADD -> {
+                    if (updated.containsKey(bookId)) {
+                        updated.merge(bookId, operation.getQuantity(), Integer::sum);
+                    } else if (removed.remove(bookId)) {
+                        updated.put(bookId, operation.getQuantity());
+                    } else {
+                        added.merge(bookId, operation.getQuantity(), Integer::sum);
+                    }
+                }
+                case UPDATE -> {
+                    added.remove(bookId);
+                    removed.remove(bookId);
+                    updated.put(bookId, operation.getQuantity());
+                }
+                default -> {
+                    added.remove(bookId);
+                    updated.remove(bookId);
+                    removed.add(bookId);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package mate.academy.bookstore.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Documented
+@Constraint(validatedBy = ExactlyOneOfValidator.class)
+@Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExactlyOneOf {
+    String message() default "Exactly one of the fields must be set";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+
+    String[] fields();
+}
@@ -0,0 +1,25 @@
+package mate.academy.bookstore.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import java.util.Arrays;
+import java.util.Objects;
+import org.springframework.beans.BeanWrapperImpl;
+
+public class ExactlyOneOfValidator implements ConstraintValidator<ExactlyOneOf, Object> {
+    private String[] fieldNames;
+
+    @Override
+    public void initialize(ExactlyOneOf constraintAnnotation) {
+        this.fieldNames = constraintAnnotation.fields();
+    }
+
+    @Override
+    public boolean isValid(Object value, ConstraintValidatorContext context) {
+        BeanWrapperImpl beanWrapper = new BeanWrapperImpl(value);
+        return Arrays.stream(fieldNames)
+                .map(beanWrapper::getPropertyValue)
+                .filter(Objects::nonNull)
+                .count() == 1;
+    }
+}
@@ -0,0 +1,85 @@
+package mate.academy.bookstore.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.dto.book.BookSearchParameters;
+import mate.academy.bookstore.search.BookFacetIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Latency of a faceted search over {@link BookFacetIndex}: a category and
+ * price filter plus counts for every facet, with no database involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookFacetIndexBenchmark {
+    private static final int CATEGORIES = 50;
+    private static final int AUTHORS = 5000;
+
+    @Param({"100000"})
+    private int books;
+
+    private BookFacetIndex index;
+    private BookSearchParameters[] queries;
+    private int next;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookFacetIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<BookDto> catalog = new ArrayList<>(books);
+        for (long id = 1; id <= books; id++) {
+            catalog.add(new BookDto().setId(id)
+                    .setTitle("Book " + id)
+                    .setAuthor("Author " + random.nextInt(AUTHORS))
+                    .setPrice(BigDecimal.valueOf(100 + random.nextInt(15000), 2))
+                    .setCategoryIds(Set.of((long) random.nextInt(CATEGORIES),
+                            (long) random.nextInt(CATEGORIES))));
+        }
+        index = new BookFacetIndex(new BigDecimal[]{BigDecimal.valueOf(10),
+                BigDecimal.valueOf(20), BigDecimal.valueOf(50), BigDecimal.valueOf(100)}, 20);
+        index.clear();
+        index.index(catalog);
+        index.publish();
+        queries = new BookSearchParameters[1024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new BookSearchParameters(null, null, null,
+                    new Long[]{(long) random.nextInt(CATEGORIES)},
+                    BigDecimal.valueOf(random.nextInt(3000), 2),
+                    BigDecimal.valueOf(5000 + random.nextInt(5000), 2));
+        }
+    }
+
+    @Benchmark
+    public BookFacetIndex.Result search() {
+        next = (next + 1) & (queries.length - 1);
+        return index.search(queries[next], null, 0, 10);
+    }
+}
@@ -0,0 +1,90 @@
+package mate.academy.bookstore.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import mate.academy.bookstore.BookStoreApplication;
+import mate.academy.bookstore.dto.book.BookImportResultDto;
+import mate.academy.bookstore.service.BookImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * End-to-end throughput of the CSV book import against the Testcontainers
+ * MySQL from the test configuration; the score is rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BookImportBenchmark.ROWS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class BookImportBenchmark {
+    static final int ROWS = 20_000;
+
+    private ConfigurableApplicationContext context;
+    private BookImportService bookImportService;
+    private byte[] csv;
+    private long invocation;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(BookStoreApplication.class)
+                .properties("server.port=0")
+                .run();
+        bookImportService = context.getBean(BookImportService.class);
+        context.getBean(JdbcTemplate.class).update("INSERT IGNORE INTO categories (id, name) "
+                + "VALUES (1, 'Fiction')");
+    }
+
+    @Setup(Level.Invocation)
+    public void generateFile() {
+        StringBuilder builder = new StringBuilder(
+                "title,author,isbn,price,description,coverImage,categoryIds\n");
+        for (long row = 0; row < ROWS; row++) {
+            long isbn = invocation * ROWS + row;
+            builder.append("Title ").append(isbn).append(",Author ").append(row % 500)
+                    .append(',').append(String.format("%013d", isbn))
+                    .append(",9.99,Description,cover.jpg,1\n");
+        }
+        invocation++;
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public BookImportResultDto importCsv() {
+        return bookImportService.importCsv(new ByteArrayInputStream(csv));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM book_category");
+        jdbcTemplate.update("DELETE FROM book");
+        context.close();
+    }
+}
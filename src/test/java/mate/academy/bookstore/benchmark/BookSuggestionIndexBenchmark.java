@@ -0,0 +1,89 @@
+package mate.academy.bookstore.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.dto.book.BookSuggestionDto;
+import mate.academy.bookstore.search.BookSuggestionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Lookup latency of {@link BookSuggestionIndex}. Sample mode reports p50/p99;
+ * add {@code -prof gc} to the options to check allocation per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookSuggestionIndexBenchmark {
+    private static final String[] WORDS = {"the", "lord", "of", "rings", "dune", "war",
+            "peace", "old", "man", "sea", "great", "expectations", "time", "machine",
+            "brave", "new", "world", "crime", "punishment", "pride", "prejudice"};
+
+    @Param({"100000"})
+    private int books;
+
+    private BookSuggestionIndex index;
+    private String[] prefixes;
+    private int next;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookSuggestionIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<BookDto> catalog = new ArrayList<>(books);
+        for (long id = 1; id <= books; id++) {
+            catalog.add(new BookDto().setId(id)
+                    .setTitle(words(random, 2 + random.nextInt(4)))
+                    .setAuthor(words(random, 2)));
+        }
+        index = new BookSuggestionIndex(10);
+        index.clear();
+        index.index(catalog);
+        index.publish();
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String title = catalog.get(random.nextInt(books)).getTitle();
+            prefixes[i] = title.substring(0, 1 + random.nextInt(Math.min(8, title.length())));
+        }
+    }
+
+    @Benchmark
+    public List<BookSuggestionDto> suggest() {
+        next = (next + 1) & (prefixes.length - 1);
+        return index.suggest(prefixes[next], 10);
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+}
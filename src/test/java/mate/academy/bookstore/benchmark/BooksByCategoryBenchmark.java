@@ -0,0 +1,109 @@
+package mate.academy.bookstore.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import mate.academy.bookstore.BookStoreApplication;
+import mate.academy.bookstore.dto.book.BookDtoWithoutCategoryIds;
+import mate.academy.bookstore.mapper.BookMapper;
+import mate.academy.bookstore.repository.book.BookRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Books of a 100k-book category: managed entities copied by the mapper versus
+ * the constructor-expression projection, unpaged and as one default page.
+ * Runs with the GC profiler, so the report includes bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BooksByCategoryBenchmark {
+    private static final long CATEGORY_ID = 1;
+    private static final int BOOKS_IN_CATEGORY = 100_000;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("title", "author"));
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private BookMapper bookMapper;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BooksByCategoryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookStoreApplication.class)
+                .properties("server.port=0")
+                .run();
+        bookRepository = context.getBean(BookRepository.class);
+        bookMapper = context.getBean(BookMapper.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (?, 'Benchmark')",
+                CATEGORY_ID);
+        List<Object[]> books = new ArrayList<>(BOOKS_IN_CATEGORY);
+        List<Object[]> bookCategories = new ArrayList<>(BOOKS_IN_CATEGORY);
+        for (long id = 1; id <= BOOKS_IN_CATEGORY; id++) {
+            books.add(new Object[]{id, "Title " + id, "Author " + id % 1000,
+                    String.format("%013d", id), new BigDecimal("9.99"), "Description",
+                    "cover.jpg"});
+            bookCategories.add(new Object[]{id, CATEGORY_ID});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO book (id, title, author, isbn, price, description, "
+                + "cover_image) VALUES (?, ?, ?, ?, ?, ?, ?)", books);
+        jdbcTemplate.batchUpdate("INSERT INTO book_category (book_id, category_id) VALUES (?, ?)",
+                bookCategories);
+    }
+
+    @Benchmark
+    public List<BookDtoWithoutCategoryIds> entitiesThenMapper() {
+        return bookMapper.toDtoWithoutCategoriesList(
+                bookRepository.findAllByCategoryId(CATEGORY_ID));
+    }
+
+    @Benchmark
+    public List<BookDtoWithoutCategoryIds> projectionUnpaged() {
+        return bookRepository.findDtosByCategoryId(CATEGORY_ID, Pageable.unpaged());
+    }
+
+    @Benchmark
+    public List<BookDtoWithoutCategoryIds> projectionFirstPage() {
+        return bookRepository.findDtosByCategoryId(CATEGORY_ID, FIRST_PAGE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM book_category");
+        jdbcTemplate.update("DELETE FROM book");
+        jdbcTemplate.update("DELETE FROM categories");
+        context.close();
+    }
+}
@@ -0,0 +1,115 @@
+package mate.academy.bookstore.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import mate.academy.bookstore.BookStoreApplication;
+import mate.academy.bookstore.dto.cartitem.CreateCartItemRequestDto;
+import mate.academy.bookstore.dto.shoppingcart.ShoppingCartDto;
+import mate.academy.bookstore.service.ShoppingCartService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Eight threads adding books to one cart, either all the same book or spread
+ * over 64. After the trial the cart must hold one row per book and a total
+ * quantity equal to the number of adds; a lost update or a duplicate row
+ * fails the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(8)
+public class CartAddBenchmark {
+    private static final long USER_ID = 1;
+
+    @Param({"1", "64"})
+    private int books;
+
+    private final AtomicLong adds = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private ShoppingCartService shoppingCartService;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CartAddBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookStoreApplication.class)
+                .properties("server.port=0")
+                .run();
+        shoppingCartService = context.getBean(ShoppingCartService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (?, 'cart@example.com', 'password', 'First', 'Last')", USER_ID);
+        jdbcTemplate.update("INSERT INTO shopping_carts (id, user_id) VALUES (?, ?)",
+                USER_ID, USER_ID);
+        List<Object[]> rows = new ArrayList<>(books);
+        for (long id = 1; id <= books; id++) {
+            rows.add(new Object[]{id, "Title " + id, "Author", String.format("%013d", id),
+                    new BigDecimal("9.99"), "cover.jpg"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO book (id, title, author, isbn, price, "
+                + "cover_image) VALUES (?, ?, ?, ?, ?, ?)", rows);
+        adds.set(0);
+    }
+
+    @Benchmark
+    public ShoppingCartDto addItemToCart() {
+        CreateCartItemRequestDto requestDto = new CreateCartItemRequestDto();
+        requestDto.setBookId(ThreadLocalRandom.current().nextLong(books) + 1);
+        requestDto.setQuantity(1);
+        ShoppingCartDto cart = shoppingCartService.addItemToCart(requestDto, USER_ID);
+        adds.incrementAndGet();
+        return cart;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        try {
+            long quantity = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(quantity), 0) FROM cart_items", Long.class);
+            long duplicates = jdbcTemplate.queryForObject("SELECT COUNT(*) - "
+                    + "COUNT(DISTINCT shopping_cart_id, book_id) FROM cart_items", Long.class);
+            if (quantity != adds.get() || duplicates != 0) {
+                throw new IllegalStateException("Expected quantity " + adds.get()
+                        + " without duplicates, got " + quantity + " with " + duplicates
+                        + " duplicate rows");
+            }
+        } finally {
+            jdbcTemplate.update("DELETE FROM cart_items");
+            jdbcTemplate.update("DELETE FROM shopping_carts");
+            jdbcTemplate.update("DELETE FROM book");
+            jdbcTemplate.update("DELETE FROM users");
+            context.close();
+        }
+    }
+}
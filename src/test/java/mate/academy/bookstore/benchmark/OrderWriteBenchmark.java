@@ -0,0 +1,134 @@
+package mate.academy.bookstore.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import mate.academy.bookstore.BookStoreApplication;
+import mate.academy.bookstore.dto.order.CreateOrderRequestDto;
+import mate.academy.bookstore.dto.order.OrderDto;
+import mate.academy.bookstore.model.Order;
+import mate.academy.bookstore.model.User;
+import mate.academy.bookstore.repository.order.OrderRepository;
+import mate.academy.bookstore.repository.user.UserRepository;
+import mate.academy.bookstore.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Orders written through JPA: one checkout of a 5-item cart, and 500 orders
+ * persisted in one transaction, which Hibernate can only send as JDBC
+ * batches when ids come from a pooled generator rather than IDENTITY. Run
+ * against the commit before the generator change for the comparison; the
+ * score is orders per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OrderWriteBenchmark {
+    static final int BULK_ORDERS = 500;
+    private static final long USER_ID = 1;
+    private static final int CART_ITEMS = 5;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private TransactionTemplate transactionTemplate;
+    private User user;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderWriteBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookStoreApplication.class)
+                .properties("server.port=0")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (?, 'orders@example.com', 'password', 'First', 'Last')", USER_ID);
+        jdbcTemplate.update("INSERT INTO shopping_carts (id, user_id) VALUES (?, ?)",
+                USER_ID, USER_ID);
+        List<Object[]> books = new ArrayList<>(CART_ITEMS);
+        for (long id = 1; id <= CART_ITEMS; id++) {
+            books.add(new Object[]{id, "Title " + id, "Author", String.format("%013d", id),
+                    new BigDecimal("9.99"), "cover.jpg"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO book (id, title, author, isbn, price, "
+                + "cover_image) VALUES (?, ?, ?, ?, ?, ?)", books);
+        jdbcTemplate.update("UPDATE id_generators SET next_val = GREATEST(next_val, 100) "
+                + "WHERE name IN ('book', 'users')");
+        user = context.getBean(UserRepository.class).getReferenceById(USER_ID);
+    }
+
+    @Setup(Level.Invocation)
+    public void fillCart() {
+        jdbcTemplate.update("INSERT INTO cart_items (shopping_cart_id, book_id, quantity) "
+                + "SELECT ?, id, 1 FROM book ON DUPLICATE KEY UPDATE quantity = 1", USER_ID);
+    }
+
+    @Benchmark
+    public OrderDto createOrder() {
+        CreateOrderRequestDto requestDto = new CreateOrderRequestDto();
+        requestDto.setShippingAddress("Kyiv, Shevchenka 1");
+        return orderService.createOrder(USER_ID, requestDto);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_ORDERS)
+    public List<Order> persistOrders() {
+        return transactionTemplate.execute(status -> {
+            List<Order> orders = new ArrayList<>(BULK_ORDERS);
+            for (int i = 0; i < BULK_ORDERS; i++) {
+                Order order = new Order();
+                order.setUser(user);
+                order.setStatus(Order.Status.PENDING);
+                order.setTotal(new BigDecimal("9.99"));
+                order.setOrderDate(LocalDateTime.now());
+                order.setShippingAddress("Kyiv, Shevchenka 1");
+                orders.add(order);
+            }
+            return orderRepository.saveAll(orders);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM cart_items");
+        jdbcTemplate.update("DELETE FROM shopping_carts");
+        jdbcTemplate.update("DELETE FROM book");
+        jdbcTemplate.update("DELETE FROM users");
+        context.close();
+    }
+}
@@ -0,0 +1,105 @@
+package mate.academy.bookstore.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import mate.academy.bookstore.BookStoreApplication;
+import mate.academy.bookstore.model.Order;
+import mate.academy.bookstore.repository.order.OrderRepository;
+import mate.academy.bookstore.service.ArchiveService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Orders of one user on a table where 30% of the rows are soft-deleted,
+ * before and after {@link ArchiveService} moves those rows out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SoftDeletedOrdersBenchmark {
+    private static final int USERS = 1000;
+    private static final int ORDERS_PER_USER = 300;
+    private static final int DELETED_PERCENT = 30;
+
+    @Param({"false", "true"})
+    private boolean archived;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private long nextUserId;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SoftDeletedOrdersBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookStoreApplication.class)
+                .properties("server.port=0", "archive.batch-size=5000", "archive.pause=0s")
+                .run();
+        orderRepository = context.getBean(OrderRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "user" + id + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, email, password, first_name, "
+                + "last_name) VALUES (?, ?, 'password', 'First', 'Last')", users);
+        Timestamp orderDate = Timestamp.from(Instant.now().minus(90, ChronoUnit.DAYS));
+        List<Object[]> orders = new ArrayList<>(USERS * ORDERS_PER_USER);
+        for (int i = 0; i < USERS * ORDERS_PER_USER; i++) {
+            boolean deleted = i % 100 < DELETED_PERCENT;
+            orders.add(new Object[]{i % USERS + 1, new BigDecimal("19.99"), orderDate,
+                    deleted, deleted ? orderDate : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (user_id, status, total, order_date, "
+                + "shipping_address, is_deleted, deleted_at) "
+                + "VALUES (?, 'DELIVERED', ?, ?, 'Address', ?, ?)", orders);
+        if (archived) {
+            context.getBean(ArchiveService.class).archiveDeletedRows();
+        }
+        jdbcTemplate.execute("ANALYZE TABLE orders");
+    }
+
+    @Benchmark
+    public List<Order> findByUserId() {
+        nextUserId = nextUserId % USERS + 1;
+        return orderRepository.findByUserId(nextUserId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM orders_archive");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM users");
+        context.close();
+    }
+}
@@ -3,8 +3,11 @@ package mate.academy.bookstore.controller;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,9 +18,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.sql.DataSource;
+import mate.academy.bookstore.dto.book.BookBatchDto;
 import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.dto.book.BookSelectionDto;
+import mate.academy.bookstore.dto.book.BulkOperationResultDto;
+import mate.academy.bookstore.dto.book.BulkPriceChangeRequestDto;
 import mate.academy.bookstore.dto.book.CreateBookRequestDto;
+import mate.academy.bookstore.dto.book.PatchBookRequestDto;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -27,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -156,6 +166,39 @@ public class BookControllerTest {
         Assertions.assertEquals(expected, actual);
     }
 
+    @WithMockUser(username = "user")
+    @Test
+    @DisplayName("Get several books by their IDs")
+    public void getBooksByIds_SomeMissing_ShouldReturnFoundInOrderAndMissingIds()
+            throws Exception {
+        MvcResult result = mockMvc.perform(get("/books").param("ids", "2", "999", "1"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookBatchDto actual = objectMapper.readValue(result.getResponse().getContentAsString(),
+                BookBatchDto.class);
+        Assertions.assertEquals(List.of(2L, 1L), actual.books().stream()
+                .map(BookDto::getId)
+                .toList());
+        Assertions.assertEquals(List.of(999L), actual.missingIds());
+    }
+
+    @WithMockUser(username = "user")
+    @Test
+    @DisplayName("Get a book by its ID with a matching ETag")
+    public void getBookById_MatchingETag_ShouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/books/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     @Test
     @DisplayName("Update a book by its ID")
@@ -185,6 +228,72 @@ public class BookControllerTest {
         Assertions.assertEquals(requestDto.getAuthor(), actual.getAuthor());
     }
 
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Update only the price of a book")
+    public void patchBook_PriceOnly_ShouldKeepOtherFields() throws Exception {
+        PatchBookRequestDto requestDto = new PatchBookRequestDto()
+                .setPrice(new BigDecimal("14.9900"));
+
+        mockMvc.perform(
+                        patch("/books/1")
+                                .content(objectMapper.writeValueAsString(requestDto))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isNoContent());
+
+        MvcResult result = mockMvc.perform(get("/books/1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookDto actual = objectMapper.readValue(result.getResponse().getContentAsString(),
+                BookDto.class);
+        Assertions.assertEquals(new BigDecimal("14.9900"), actual.getPrice());
+        Assertions.assertEquals("Dune", actual.getTitle());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Raise the price of several books by a percentage")
+    public void changePrices_ByIds_ShouldRepriceBooks() throws Exception {
+        BulkPriceChangeRequestDto requestDto = new BulkPriceChangeRequestDto()
+                .setPercent(new BigDecimal("10"));
+        requestDto.setBookIds(Set.of(1L, 2L));
+
+        MvcResult result = mockMvc.perform(
+                        post("/books/bulk/price")
+                                .content(objectMapper.writeValueAsString(requestDto))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+        BulkOperationResultDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BulkOperationResultDto.class);
+        Assertions.assertEquals(2, actual.affected());
+
+        MvcResult bookResult = mockMvc.perform(get("/books/1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookDto book = objectMapper.readValue(bookResult.getResponse().getContentAsString(),
+                BookDto.class);
+        Assertions.assertEquals(new BigDecimal("10.9900"), book.getPrice());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Reject a bulk delete that selects by both ids and category")
+    public void deleteBooks_IdsAndCategory_ShouldReturnBadRequest() throws Exception {
+        BookSelectionDto selection = new BookSelectionDto()
+                .setBookIds(Set.of(1L))
+                .setCategoryId(1L);
+
+        mockMvc.perform(
+                        post("/books/bulk/delete")
+                                .content(objectMapper.writeValueAsString(selection))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isBadRequest());
+    }
+
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     @Test
     @DisplayName("Delete a book by its ID")
@@ -0,0 +1,196 @@
+package mate.academy.bookstore.filter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import mate.academy.bookstore.config.CacheConfig;
+import mate.academy.bookstore.event.BookChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class CatalogResponseCacheFilterTest {
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+    private CatalogResponseCacheFilter filter;
+    private String body;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.CATALOG_RESPONSES_CACHE,
+                Caffeine.newBuilder().build());
+        filter = new CatalogResponseCacheFilter(cacheManager);
+        body = "[{\"id\":1,\"title\":\"Dune\"}]";
+        authenticate("ROLE_USER");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_SameQueryInOtherOrder_ShouldServeSecondRequestFromCache() throws Exception {
+        perform(request("/books", "page", "1", "size", "5"));
+        MockHttpServletResponse response = perform(request("/books/", "size", "5", "page", "1"));
+
+        assertEquals(1, controllerCalls.get());
+        assertEquals("HIT", response.getHeader(CatalogResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals(body, response.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+    }
+
+    @Test
+    void doFilter_OtherRole_ShouldNotShareCachedResponse() throws Exception {
+        perform(request("/categories"));
+        authenticate("ROLE_ADMIN");
+        perform(request("/categories"));
+
+        assertEquals(2, controllerCalls.get());
+    }
+
+    @Test
+    void doFilter_AfterBookChanged_ShouldReachControllerAgain() throws Exception {
+        perform(request("/categories/1/books"));
+        filter.onBookChanged(new BookChangedEvent(Set.of(1L)));
+        perform(request("/categories/1/books"));
+
+        assertEquals(2, controllerCalls.get());
+    }
+
+    @Test
+    void doFilter_LargeBody_ShouldServeGzipOnlyToClientsAcceptingIt() throws Exception {
+        body = "[" + "{\"id\":1,\"title\":\"Dune\"},".repeat(100) + "{}]";
+        perform(request("/books"));
+
+        MockHttpServletRequest gzipRequest = request("/books");
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        MockHttpServletResponse gzipResponse = perform(gzipRequest);
+        MockHttpServletResponse plainResponse = perform(request("/books"));
+
+        assertEquals("gzip", gzipResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8),
+                gunzip(gzipResponse.getContentAsByteArray()));
+        assertNull(plainResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body, plainResponse.getContentAsString());
+        assertEquals(1, controllerCalls.get());
+    }
+
+    @Test
+    void doFilter_SearchPath_ShouldNotBeCached() throws Exception {
+        perform(request("/books/search", "query", "dune"));
+        MockHttpServletResponse response = perform(request("/books/search", "query", "dune"));
+
+        assertEquals(2, controllerCalls.get());
+        assertNull(response.getHeader(CatalogResponseCacheFilter.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    void doFilter_MatchingETagOnHit_ShouldReturnNotModified() throws Exception {
+        perform(request("/categories"));
+        MockHttpServletRequest request = request("/categories");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3-3-0\"");
+
+        MockHttpServletResponse response = perform(request);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void doFilter_ETagListWithWeakTagOnHit_ShouldReturnNotModified() throws Exception {
+        perform(request("/categories"));
+        MockHttpServletRequest request = request("/categories");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-1-0\", W/\"3-3-0\"");
+
+        MockHttpServletResponse response = perform(request);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+    }
+
+    @Test
+    void doFilter_GzipRefused_ShouldServePlainBody() throws Exception {
+        body = "[" + "{\"id\":1,\"title\":\"Dune\"},".repeat(100) + "{}]";
+        perform(request("/books"));
+        MockHttpServletRequest request = request("/books");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *");
+
+        MockHttpServletResponse response = perform(request);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body, response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_Miss_ShouldVaryOnAcceptEncoding() throws Exception {
+        MockHttpServletResponse response = perform(request("/books"));
+
+        assertEquals("MISS", response.getHeader(CatalogResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void doFilter_ResponseComputedDuringChange_ShouldNotBeServed() throws Exception {
+        FilterChain changingController = (req, res) -> {
+            controllerCalls.incrementAndGet();
+            filter.onBookChanged(new BookChangedEvent(Set.of(1L)));
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request("/books"), new MockHttpServletResponse(), changingController);
+        perform(request("/books"));
+
+        assertEquals(2, controllerCalls.get());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain controller = (req, res) -> {
+            controllerCalls.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) res;
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.setHeader(HttpHeaders.ETAG, "\"3-3-0\"");
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    private MockHttpServletRequest request(String path, String... parameters) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        for (int i = 0; i < parameters.length; i += 2) {
+            request.addParameter(parameters[i], parameters[i + 1]);
+        }
+        return request;
+    }
+
+    private void authenticate(String role) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("user", null, List.of(() -> role)));
+    }
+
+    private byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return input.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package mate.academy.bookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import mate.academy.bookstore.dto.book.AuthorFacetDto;
+import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.dto.book.BookSearchParameters;
+import mate.academy.bookstore.dto.book.CategoryFacetDto;
+import mate.academy.bookstore.dto.book.PriceBandFacetDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BookFacetIndexTest {
+    private static final BigDecimal TEN = new BigDecimal("10");
+    private static final BigDecimal TWENTY = new BigDecimal("20");
+
+    private BookFacetIndex bookFacetIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookFacetIndex = new BookFacetIndex(new BigDecimal[]{TWENTY, TEN}, 10);
+        bookFacetIndex.clear();
+        bookFacetIndex.index(List.of(
+                book(1L, "Frank Herbert", "9.99", 1L),
+                book(2L, "Tolkien", "15.00", 2L),
+                book(3L, "Frank Herbert", "12.50", 1L, 2L),
+                book(4L, "Frank Herbert", "25.00", 3L)));
+        bookFacetIndex.publish();
+    }
+
+    @Test
+    void search_NoFilters_CountsEveryFacet() {
+        BookFacetIndex.Result result = bookFacetIndex.search(params(null, null, null, null),
+                null, 0, 10);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), result.ids());
+        assertEquals(4, result.total());
+        assertEquals(List.of(
+                        new CategoryFacetDto(1L, 2),
+                        new CategoryFacetDto(2L, 2),
+                        new CategoryFacetDto(3L, 1)),
+                result.categories());
+        assertEquals(List.of(
+                        new AuthorFacetDto("Frank Herbert", 3),
+                        new AuthorFacetDto("Tolkien", 1)),
+                result.authors());
+        assertEquals(List.of(
+                        new PriceBandFacetDto(null, TEN, 1),
+                        new PriceBandFacetDto(TEN, TWENTY, 2),
+                        new PriceBandFacetDto(TWENTY, null, 1)),
+                result.priceBands());
+    }
+
+    @Test
+    void search_CategoryFilter_CountsOtherFacetsWithinCategory() {
+        BookFacetIndex.Result result = bookFacetIndex.search(
+                params(new Long[]{2L}, null, null, null), null, 0, 10);
+
+        assertEquals(List.of(2L, 3L), result.ids());
+        assertEquals(List.of(
+                        new AuthorFacetDto("Frank Herbert", 1),
+                        new AuthorFacetDto("Tolkien", 1)),
+                result.authors());
+        assertEquals(3, result.categories().size());
+    }
+
+    @Test
+    void search_PriceRange_ChecksPricesInBoundaryBands() {
+        BookFacetIndex.Result result = bookFacetIndex.search(
+                params(null, null, new BigDecimal("12.51"), new BigDecimal("30")), null, 0, 10);
+
+        assertEquals(List.of(2L, 4L), result.ids());
+    }
+
+    @Test
+    void search_RankedIds_KeepsRankOrderAndPages() {
+        BookFacetIndex.Result result = bookFacetIndex.search(
+                params(null, new String[]{"Frank Herbert"}, null, null),
+                List.of(4L, 2L, 3L, 1L), 1, 10);
+
+        assertEquals(List.of(3L, 1L), result.ids());
+        assertEquals(3, result.total());
+    }
+
+    @Test
+    void search_AuthorFilter_IgnoresCase() {
+        BookFacetIndex.Result result = bookFacetIndex.search(
+                params(null, new String[]{" frank HERBERT"}, null, null), null, 0, 10);
+
+        assertEquals(List.of(1L, 3L, 4L), result.ids());
+        assertEquals(List.of(new AuthorFacetDto("Frank Herbert", 3),
+                new AuthorFacetDto("Tolkien", 1)), result.authors());
+    }
+
+    @Test
+    void index_NewBook_IsInEveryFacetAfterPublish() {
+        bookFacetIndex.index(List.of(book(5L, "Tolkien", "8.00", 2L)));
+        bookFacetIndex.publish();
+
+        assertEquals(List.of(2L, 5L), bookFacetIndex.search(
+                params(null, new String[]{"tolkien"}, null, null), null, 0, 10).ids());
+        assertEquals(5, bookFacetIndex.search(params(null, null, null, null), null, 0, 10)
+                .total());
+        assertEquals(3, bookFacetIndex.search(params(new Long[]{2L}, null, null, null),
+                null, 0, 10).total());
+        assertEquals(2, bookFacetIndex.search(params(null, null, null, TEN), null, 0, 10)
+                .total());
+    }
+
+    @Test
+    void index_RepricedBook_MovesToNewBandAfterPublish() {
+        bookFacetIndex.index(List.of(book(1L, "Frank Herbert", "30.00", 1L)));
+
+        assertEquals(1, bookFacetIndex.search(params(null, null, null, TEN), null, 0, 10)
+                .total());
+
+        bookFacetIndex.publish();
+
+        assertEquals(0, bookFacetIndex.search(params(null, null, null, TEN), null, 0, 10)
+                .total());
+    }
+
+    @Test
+    void remove_Book_DropsEmptyFacet() {
+        bookFacetIndex.remove(Set.of(4L));
+        bookFacetIndex.publish();
+
+        BookFacetIndex.Result result = bookFacetIndex.search(params(null, null, null, null),
+                null, 0, 10);
+
+        assertEquals(3, result.total());
+        assertEquals(2, result.categories().size());
+    }
+
+    private BookSearchParameters params(Long[] categoryIds, String[] authors,
+                                        BigDecimal minPrice, BigDecimal maxPrice) {
+        return new BookSearchParameters(null, authors, null, categoryIds, minPrice, maxPrice);
+    }
+
+    private BookDto book(Long id, String author, String price, Long... categoryIds) {
+        return new BookDto().setId(id).setTitle("Title " + id).setAuthor(author)
+                .setPrice(new BigDecimal(price)).setCategoryIds(Set.of(categoryIds));
+    }
+}
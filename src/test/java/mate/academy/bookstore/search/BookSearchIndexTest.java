@@ -0,0 +1,91 @@
+package mate.academy.bookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.dto.book.BookSearchParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BookSearchIndexTest {
+    @TempDir
+    private Path indexPath;
+
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        bookSearchIndex = new BookSearchIndex(indexPath);
+        bookSearchIndex.index(List.of(
+                book(1L, "Dune", "Frank Herbert", "A desert planet and its spice"),
+                book(2L, "The Hobbit", "Tolkien", "A journey there and back again"),
+                book(3L, "Children of Dune", "Frank Herbert", "The sequel")));
+        bookSearchIndex.publish();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        bookSearchIndex.destroy();
+    }
+
+    @Test
+    void search_WordInDescription_ReturnsMatchingBook() {
+        assertEquals(List.of(1L), bookSearchIndex.search(query("desert"), 0, 10));
+    }
+
+    @Test
+    void search_WordInTitle_RanksShorterTitleFirst() {
+        assertEquals(List.of(1L, 3L), bookSearchIndex.search(query("dune"), 0, 10));
+    }
+
+    @Test
+    void search_OffsetAndLimit_ReturnsRequestedPage() {
+        assertEquals(List.of(3L), bookSearchIndex.search(query("dune"), 1, 10));
+    }
+
+    @Test
+    void search_AuthorFilter_KeepsOnlyExactAuthor() {
+        BookSearchParameters params = new BookSearchParameters(
+                null, new String[]{"tolkien"}, "there | dune", null, null, null);
+
+        assertEquals(List.of(2L), bookSearchIndex.search(params, 0, 10));
+    }
+
+    @Test
+    void search_CategoryAndPriceFilters_KeepOnlyMatchingBooks() {
+        bookSearchIndex.index(List.of(
+                book(1L, "Dune", "Frank Herbert", "A desert planet and its spice")
+                        .setPrice(new BigDecimal("9.99")).setCategoryIds(Set.of(1L)),
+                book(3L, "Children of Dune", "Frank Herbert", "The sequel")
+                        .setPrice(new BigDecimal("19.99")).setCategoryIds(Set.of(1L, 2L))));
+        bookSearchIndex.publish();
+        BookSearchParameters params = new BookSearchParameters(
+                null, null, "dune", new Long[]{2L}, new BigDecimal("10"), null);
+
+        assertEquals(List.of(3L), bookSearchIndex.search(params, 0, 10));
+    }
+
+    @Test
+    void remove_PublishedRemoval_BookNoLongerFound() {
+        bookSearchIndex.remove(Set.of(1L));
+        bookSearchIndex.publish();
+
+        assertEquals(List.of(3L), bookSearchIndex.search(query("dune"), 0, 10));
+    }
+
+    private BookSearchParameters query(String query) {
+        return new BookSearchParameters(null, null, query, null, null, null);
+    }
+
+    private BookDto book(Long id, String title, String author, String description) {
+        return new BookDto().setId(id).setTitle(title).setAuthor(author)
+                .setDescription(description);
+    }
+}
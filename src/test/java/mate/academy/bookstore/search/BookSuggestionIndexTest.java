@@ -0,0 +1,82 @@
+package mate.academy.bookstore.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.dto.book.BookSuggestionDto;
+import mate.academy.bookstore.dto.book.BookSuggestionDto.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BookSuggestionIndexTest {
+    private BookSuggestionIndex bookSuggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookSuggestionIndex = new BookSuggestionIndex(10);
+        bookSuggestionIndex.clear();
+        bookSuggestionIndex.index(List.of(
+                book(1L, "Dune", "Frank Herbert"),
+                book(2L, "The Hobbit", "Tolkien"),
+                book(3L, "Children of Dune", "Frank Herbert"),
+                book(4L, "Dune Messiah", "Frank Herbert")));
+        bookSuggestionIndex.publish();
+    }
+
+    @Test
+    void suggest_Prefix_ReturnsTitlesAndAuthorsRankedByBookCount() {
+        assertEquals(List.of(
+                        new BookSuggestionDto("Frank Herbert", Type.AUTHOR, 3),
+                        new BookSuggestionDto("Children of Dune", Type.TITLE, 1)),
+                bookSuggestionIndex.suggest("", 2));
+    }
+
+    @Test
+    void suggest_PrefixInOtherCase_MatchesCaseInsensitively() {
+        assertEquals(List.of(
+                        new BookSuggestionDto("Dune", Type.TITLE, 1),
+                        new BookSuggestionDto("Dune Messiah", Type.TITLE, 1)),
+                bookSuggestionIndex.suggest("dU", 10));
+    }
+
+    @Test
+    void suggest_UnknownPrefix_ReturnsEmptyList() {
+        assertEquals(List.of(), bookSuggestionIndex.suggest("xyz", 10));
+    }
+
+    @Test
+    void index_RenamedBook_ReplacesOldTitle() {
+        bookSuggestionIndex.index(List.of(book(1L, "Dune (Deluxe)", "Frank Herbert")));
+
+        assertEquals(List.of(
+                        new BookSuggestionDto("Dune (Deluxe)", Type.TITLE, 1),
+                        new BookSuggestionDto("Dune Messiah", Type.TITLE, 1)),
+                bookSuggestionIndex.suggest("dune", 10));
+    }
+
+    @Test
+    void remove_Book_DecrementsAuthorCount() {
+        bookSuggestionIndex.remove(Set.of(1L, 4L));
+
+        assertEquals(List.of(new BookSuggestionDto("Frank Herbert", Type.AUTHOR, 1)),
+                bookSuggestionIndex.suggest("frank", 10));
+    }
+
+    @Test
+    void clear_UnpublishedRebuild_KeepsServingPreviousContents() {
+        bookSuggestionIndex.clear();
+        bookSuggestionIndex.index(List.of(book(5L, "Emma", "Jane Austen")));
+
+        assertEquals(List.of(), bookSuggestionIndex.suggest("emma", 10));
+        bookSuggestionIndex.publish();
+        assertEquals(List.of(new BookSuggestionDto("Emma", Type.TITLE, 1)),
+                bookSuggestionIndex.suggest("emma", 10));
+        assertEquals(List.of(), bookSuggestionIndex.suggest("dune", 10));
+    }
+
+    private BookDto book(Long id, String title, String author) {
+        return new BookDto().setId(id).setTitle(title).setAuthor(author);
+    }
+}
@@ -0,0 +1,90 @@
+package mate.academy.bookstore.service;
+
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ArchiveServiceImplTest {
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ArchiveServiceImpl archiveService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(archiveService, "retention", Duration.ofDays(30));
+        ReflectionTestUtils.setField(archiveService, "batchSize", 2);
+        ReflectionTestUtils.setField(archiveService, "pause", Duration.ZERO);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation
+                .<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(Long.class)))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    void archiveDeletedRows_FullBatch_ShouldMoveDependentsFirstAndReadNextBatch() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT t.id FROM orders "), anyMap(),
+                eq(Long.class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+
+        archiveService.archiveDeletedRows();
+
+        verify(jdbcTemplate, times(2)).update(
+                startsWith("INSERT INTO order_items_archive"), anyMap());
+        verify(jdbcTemplate, times(2)).update(
+                eq("DELETE FROM order_items WHERE order_id IN (:ids)"), anyMap());
+        verify(jdbcTemplate, times(2)).update(
+                eq("DELETE FROM orders WHERE id IN (:ids)"), anyMap());
+        verify(jdbcTemplate, times(2)).queryForList(startsWith("SELECT t.id FROM orders "),
+                anyMap(), eq(Long.class));
+        verify(transactionTemplate, times(6)).execute(any());
+        verify(jdbcTemplate, never()).update(eq("DELETE FROM book WHERE id IN (:ids)"),
+                anyMap());
+    }
+
+    @Test
+    void archiveDeletedRows_ReferencedByOrderRequests_ShouldKeepBooksAndUsers() {
+        archiveService.archiveDeletedRows();
+
+        verify(jdbcTemplate).queryForList(and(startsWith("SELECT t.id FROM book "),
+                        contains("NOT EXISTS (SELECT 1 FROM order_request_items r "
+                                + "WHERE r.book_id = t.id)")),
+                anyMap(), eq(Long.class));
+        verify(jdbcTemplate).queryForList(and(startsWith("SELECT t.id FROM users "),
+                        contains("NOT EXISTS (SELECT 1 FROM order_requests r "
+                                + "WHERE r.user_id = t.id)")),
+                anyMap(), eq(Long.class));
+    }
+
+    @Test
+    void archiveDeletedRows_NothingDeleted_ShouldNotWrite() {
+        archiveService.archiveDeletedRows();
+
+        verify(jdbcTemplate, never()).update(anyString(), anyMap());
+    }
+}
@@ -0,0 +1,115 @@
+package mate.academy.bookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import mate.academy.bookstore.dto.book.BookSelectionDto;
+import mate.academy.bookstore.dto.book.BulkCategoryAssignRequestDto;
+import mate.academy.bookstore.dto.book.BulkOperationResultDto;
+import mate.academy.bookstore.dto.book.BulkPriceChangeRequestDto;
+import mate.academy.bookstore.event.BookChangedEvent;
+import mate.academy.bookstore.exception.EntityNotFoundException;
+import mate.academy.bookstore.repository.book.BookRepository;
+import mate.academy.bookstore.repository.category.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+class BookBulkServiceImplTest {
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BookBulkServiceImpl bookBulkService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void changePrices_ByCategory_ShouldUpdateWithOneStatementAndPublishOneEvent() {
+        BulkPriceChangeRequestDto requestDto = new BulkPriceChangeRequestDto()
+                .setPercent(new BigDecimal("-15"));
+        requestDto.setCategoryId(3L);
+        when(bookRepository.lockIdsByCategoryId(3L)).thenReturn(List.of(1L, 2L, 2L));
+
+        BulkOperationResultDto result = bookBulkService.changePrices(requestDto);
+
+        assertEquals(2, result.affected());
+        verify(bookRepository).scalePricesByCategoryId(3L, new BigDecimal("0.85"));
+        verify(bookRepository, never()).scalePricesByIds(anyCollection(), any());
+        verify(eventPublisher).publishEvent(new BookChangedEvent(Set.of(1L, 2L)));
+    }
+
+    @Test
+    void changePrices_NoLiveBooks_ShouldNotUpdate() {
+        BulkPriceChangeRequestDto requestDto = new BulkPriceChangeRequestDto()
+                .setPercent(BigDecimal.TEN);
+        requestDto.setBookIds(Set.of(5L));
+        when(bookRepository.lockIdsByIds(Set.of(5L))).thenReturn(List.of());
+
+        BulkOperationResultDto result = bookBulkService.changePrices(requestDto);
+
+        assertEquals(0, result.affected());
+        verify(bookRepository, never()).scalePricesByIds(anyCollection(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void assignCategory_ByIds_ShouldLinkMissingBooksAndBumpVersions() {
+        BulkCategoryAssignRequestDto requestDto = new BulkCategoryAssignRequestDto()
+                .setTargetCategoryId(7L);
+        requestDto.setBookIds(Set.of(1L, 2L));
+        when(categoryRepository.existsById(7L)).thenReturn(true);
+        when(bookRepository.lockIdsByIds(Set.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(bookRepository.insertCategoryLinksByIds(Set.of(1L, 2L), 7L)).thenReturn(1);
+
+        BulkOperationResultDto result = bookBulkService.assignCategory(requestDto);
+
+        assertEquals(1, result.affected());
+        verify(bookRepository).incrementVersions(Set.of(1L, 2L));
+        verify(eventPublisher).publishEvent(new BookChangedEvent(Set.of(1L, 2L)));
+    }
+
+    @Test
+    void assignCategory_UnknownTargetCategory_ShouldThrowException() {
+        BulkCategoryAssignRequestDto requestDto = new BulkCategoryAssignRequestDto()
+                .setTargetCategoryId(99L);
+        requestDto.setCategoryId(1L);
+        when(categoryRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> bookBulkService.assignCategory(requestDto));
+        verify(bookRepository, never()).lockIdsByCategoryId(any());
+    }
+
+    @Test
+    void delete_ByIds_ShouldSoftDeleteLiveBooks() {
+        BookSelectionDto selection = new BookSelectionDto().setBookIds(Set.of(1L, 2L, 3L));
+        when(bookRepository.lockIdsByIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+
+        BulkOperationResultDto result = bookBulkService.delete(selection);
+
+        assertEquals(2, result.affected());
+        verify(bookRepository).softDeleteByIds(Set.of(1L, 3L));
+        verify(eventPublisher).publishEvent(new BookChangedEvent(Set.of(1L, 3L)));
+    }
+}
@@ -0,0 +1,106 @@
+package mate.academy.bookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import mate.academy.bookstore.dto.book.BookDto;
+import mate.academy.bookstore.mapper.impl.BookMapperImpl;
+import mate.academy.bookstore.repository.book.BookExportRow;
+import mate.academy.bookstore.repository.book.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class BookExportServiceImplTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookExportServiceImpl bookExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bookExportService = new BookExportServiceImpl(bookRepository, new BookMapperImpl(),
+                objectMapper);
+    }
+
+    @Test
+    void exportNdjson_Books_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        when(bookRepository.streamExportRows())
+                .thenReturn(Stream.of(row(1L, "3,4"), row(2L, null)));
+
+        String[] lines = export().split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals(Set.of(3L, 4L), objectMapper.readValue(lines[0], BookDto.class)
+                .getCategoryIds());
+        BookDto second = objectMapper.readValue(lines[1], BookDto.class);
+        assertEquals(2L, second.getId());
+        assertEquals(Set.of(), second.getCategoryIds());
+    }
+
+    @Test
+    void exportNdjson_LargeCatalog_ShouldReadOnlyTheStream() throws IOException {
+        when(bookRepository.streamExportRows())
+                .thenReturn(LongStream.rangeClosed(1, 2500).mapToObj(id -> row(id, "1")));
+
+        assertEquals(2500, export().lines().count());
+        verify(bookRepository).streamExportRows();
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    void exportNdjson_LargeCatalog_ShouldFlushOncePerChunk() throws IOException {
+        when(bookRepository.streamExportRows())
+                .thenReturn(LongStream.rangeClosed(1, 2500).mapToObj(id -> row(id, "1")));
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        bookExportService.exportNdjson(output);
+
+        assertEquals(2, flushes.get());
+        assertEquals(2500, output.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void exportNdjson_EmptyCatalog_ShouldWriteNothing() throws IOException {
+        when(bookRepository.streamExportRows()).thenReturn(Stream.empty());
+
+        assertEquals("", export());
+    }
+
+    private String export() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bookExportService.exportNdjson(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private BookExportRow row(long id, String categoryIds) {
+        return new Row(id, "Title " + id, "Author", String.valueOf(id),
+                new BigDecimal("9.99"), null, "cover.jpg", categoryIds);
+    }
+
+    private record Row(Long getId, String getTitle, String getAuthor, String getIsbn,
+                       BigDecimal getPrice, String getDescription, String getCoverImage,
+                       String getCategoryIds) implements BookExportRow {
+    }
+}
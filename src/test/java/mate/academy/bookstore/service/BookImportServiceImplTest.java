@@ -0,0 +1,145 @@
+package mate.academy.bookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import mate.academy.bookstore.dto.book.BookImportErrorDto;
+import mate.academy.bookstore.dto.book.BookImportResultDto;
+import mate.academy.bookstore.event.BookChangedEvent;
+import mate.academy.bookstore.mapper.impl.BookMapperImpl;
+import mate.academy.bookstore.model.Book;
+import mate.academy.bookstore.model.Category;
+import mate.academy.bookstore.repository.book.BookRepository;
+import mate.academy.bookstore.repository.category.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class BookImportServiceImplTest {
+    private static final String CSV_HEADER =
+            "title,author,isbn,price,description,coverImage,categoryIds\n";
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BookImportServiceImpl bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bookImportService = new BookImportServiceImpl(new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), bookRepository,
+                categoryRepository, new BookMapperImpl(), entityManager, transactionTemplate,
+                eventPublisher);
+        ReflectionTestUtils.setField(bookImportService, "batchSize", 2);
+
+        when(categoryRepository.findAllIds()).thenReturn(Set.of(1L, 2L));
+        when(bookRepository.findExistingIsbns(anyCollection())).thenReturn(Set.of());
+        when(entityManager.getReference(any(), any())).thenReturn(new Category());
+        AtomicLong nextId = new AtomicLong(1);
+        doAnswer(invocation -> {
+            invocation.<Book>getArgument(0).setId(nextId.getAndIncrement());
+            return null;
+        }).when(entityManager).persist(any(Book.class));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void importCsv_ValidRows_ShouldPersistInBatches() {
+        BookImportResultDto result = bookImportService.importCsv(input(CSV_HEADER
+                + "Dune,Frank Herbert,1111111111111,9.99,Science,dune.jpg,1;2\n"
+                + "The Hobbit,Tolkien,2222222222222,8.99,Fantasy,hobbit.jpg,\n"
+                + "Emma,Jane Austen,3333333333333,7.99,,emma.jpg,2\n"));
+
+        assertEquals(new BookImportResultDto(3, 0, 0, List.of()), result);
+        verify(entityManager, times(3)).persist(any(Book.class));
+        verify(entityManager, times(2)).flush();
+        ArgumentCaptor<BookChangedEvent> events = ArgumentCaptor.forClass(BookChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(new BookChangedEvent(Set.of(1L, 2L)),
+                new BookChangedEvent(Set.of(3L))), events.getAllValues());
+    }
+
+    @Test
+    void importCsv_DuplicateIsbns_ShouldSkipExistingAndRepeatedBooks() {
+        when(bookRepository.findExistingIsbns(anyCollection()))
+                .thenReturn(Set.of("1111111111111"));
+        ReflectionTestUtils.setField(bookImportService, "batchSize", 10);
+
+        BookImportResultDto result = bookImportService.importCsv(input(CSV_HEADER
+                + "Dune,Frank Herbert,1111111111111,9.99,Science,dune.jpg,\n"
+                + "Emma,Jane Austen,3333333333333,7.99,,emma.jpg,\n"
+                + "Emma,Jane Austen,3333333333333,7.99,,emma.jpg,\n"));
+
+        assertEquals(new BookImportResultDto(1, 2, 0, List.of()), result);
+        verify(entityManager, times(1)).persist(any(Book.class));
+    }
+
+    @Test
+    void importCsv_InvalidRows_ShouldReportThemAndImportTheRest() {
+        BookImportResultDto result = bookImportService.importCsv(input(CSV_HEADER
+                + "Dune,Frank Herbert,1111111111111,cheap,Science,dune.jpg,\n"
+                + ",Tolkien,2222222222222,8.99,Fantasy,hobbit.jpg,\n"
+                + "Emma,Jane Austen,3333333333333,7.99,,emma.jpg,9\n"
+                + "Ulysses,James Joyce,4444444444444,6.99,,ulysses.jpg,1\n"));
+
+        assertEquals(1, result.imported());
+        assertEquals(3, result.failed());
+        assertEquals(List.of(1L, 2L, 3L),
+                result.errors().stream().map(BookImportErrorDto::row).toList());
+        assertEquals("title: Title cannot be blank", result.errors().get(1).message());
+        assertEquals("Can't find category by id 9", result.errors().get(2).message());
+    }
+
+    @Test
+    void importNdjson_ValidAndMalformedLines_ShouldStopAtUnreadableInput() {
+        BookImportResultDto result = bookImportService.importNdjson(input(
+                "{\"title\":\"Dune\",\"author\":\"Frank Herbert\",\"isbn\":\"1111111111111\","
+                        + "\"price\":9.99,\"coverImage\":\"dune.jpg\",\"categoryIds\":[1]}\n"
+                        + "{\"title\":\"Emma\",\n"));
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(2L, result.errors().get(0).row());
+    }
+
+    private InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,38 +2,58 @@ package mate.academy.bookstore.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import mate.academy.bookstore.config.CacheConfig;
+import mate.academy.bookstore.dto.book.BookBatchDto;
+import mate.academy.bookstore.dto.book.BookCursor;
+import mate.academy.bookstore.dto.book.BookCursorPageDto;
 import mate.academy.bookstore.dto.book.BookDto;
 import mate.academy.bookstore.dto.book.BookDtoWithoutCategoryIds;
+import mate.academy.bookstore.dto.book.BookFacetedSearchDto;
 import mate.academy.bookstore.dto.book.BookSearchParameters;
+import mate.academy.bookstore.dto.book.CategoryFacetDto;
 import mate.academy.bookstore.dto.book.CreateBookRequestDto;
+import mate.academy.bookstore.dto.book.PatchBookRequestDto;
+import mate.academy.bookstore.event.BookChangedEvent;
 import mate.academy.bookstore.exception.EntityNotFoundException;
 import mate.academy.bookstore.mapper.BookMapper;
 import mate.academy.bookstore.model.Book;
 import mate.academy.bookstore.repository.book.BookRepository;
 import mate.academy.bookstore.repository.book.BookSpecificationBuilder;
 import mate.academy.bookstore.repository.category.CategoryRepository;
+import mate.academy.bookstore.search.BookFacetIndex;
+import mate.academy.bookstore.search.BookSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 
 class BookServiceImplTest {
@@ -49,6 +69,18 @@ class BookServiceImplTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -97,21 +129,57 @@ class BookServiceImplTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         verify(bookRepository, times(1)).save(book);
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.of(1L));
     }
 
     @Test
     void findAll_ShouldReturnAllBooks() {
         Pageable pageable = mock(Pageable.class);
-        Page<Book> bookPage = new PageImpl<>(List.of(book));
+        Slice<Book> bookSlice = new SliceImpl<>(List.of(book));
 
-        when(bookRepository.findAll(pageable)).thenReturn(bookPage);
-        when(bookMapper.toDto(any(Book.class))).thenReturn(bookDto);
+        when(bookRepository.findSlice(ArgumentMatchers.<Specification<Book>>any(), eq(pageable)))
+                .thenReturn(bookSlice);
+        when(bookMapper.toDtoList(anyList(), anyMap())).thenReturn(List.of(bookDto));
 
         List<BookDto> result = bookService.findAll(pageable);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getId());
+        verify(bookRepository, times(1)).getCategoryIdsByBookId(List.of(1L));
+        verify(bookRepository, never()).count(ArgumentMatchers.<Specification<Book>>any());
+    }
+
+    @Test
+    void findAllByCursor_MoreBooksThanPageSize_ShouldReturnNextCursor() {
+        Book next = new Book();
+        next.setId(2L);
+        next.setTitle("Next Title");
+        next.setAuthor("Next Author");
+
+        when(bookSpecificationBuilder.after(any(BookCursor.class)))
+                .thenReturn(Specification.where(null));
+        when(bookRepository.findBy(ArgumentMatchers.<Specification<Book>>any(), any()))
+                .thenReturn(List.of(book, next));
+        when(bookMapper.toDtoList(eq(List.of(book)), anyMap())).thenReturn(List.of(bookDto));
+
+        String cursor = new BookCursor("A", "B", 0L).encode();
+        BookCursorPageDto result = bookService.findAll(cursor, 1);
+
+        assertEquals(List.of(bookDto), result.books());
+        assertEquals(BookCursor.of(book), BookCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    void findAllByCursor_LastPage_ShouldReturnNullCursor() {
+        when(bookRepository.findBy(ArgumentMatchers.<Specification<Book>>any(), any()))
+                .thenReturn(List.of(book));
+        when(bookMapper.toDtoList(eq(List.of(book)), anyMap())).thenReturn(List.of(bookDto));
+
+        BookCursorPageDto result = bookService.findAll(null, 10);
+
+        assertEquals(1, result.books().size());
+        assertNull(result.nextCursor());
     }
 
     @Test
@@ -139,6 +207,7 @@ class BookServiceImplTest {
     void deleteById_ShouldDeleteBook() {
         bookService.deleteById(1L);
         verify(bookRepository, times(1)).deleteById(1L);
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.of(1L));
     }
 
     @Test
@@ -175,21 +244,50 @@ class BookServiceImplTest {
         assertEquals("Can't find book by id 1", exception.getMessage());
     }
 
+    @Test
+    void patch_PriceOnly_ShouldUpdateOneColumnWithoutLoadingBook() {
+        BigDecimal price = new BigDecimal("14.9900");
+        when(bookRepository.updateAttributes(1L, Map.of("price", price))).thenReturn(1);
+
+        bookService.patch(1L, new PatchBookRequestDto().setPrice(price));
+
+        verify(bookRepository, never()).findById(anyLong());
+        verify(bookRepository, never()).deleteCategoryLinks(anyLong());
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.of(1L));
+    }
+
+    @Test
+    void patch_CategoryIds_ShouldReplaceCategoryLinks() {
+        when(bookRepository.updateAttributes(1L, Map.of())).thenReturn(1);
+
+        bookService.patch(1L, new PatchBookRequestDto().setCategoryIds(Set.of(2L)));
+
+        verify(bookRepository, times(1)).deleteCategoryLinks(1L);
+        verify(bookRepository, times(1)).insertCategoryLinks(1L, Set.of(2L));
+        verify(categoryRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void patch_MissingBook_ShouldThrowException() {
+        when(bookRepository.updateAttributes(anyLong(), anyMap())).thenReturn(0);
+        PatchBookRequestDto requestDto = new PatchBookRequestDto().setTitle("Dune");
+
+        assertThrows(EntityNotFoundException.class, () -> bookService.patch(1L, requestDto));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     void search_ShouldReturnBooks() {
         BookSearchParameters searchParameters = new BookSearchParameters(
-                new String[]{"Dune"}, new String[]{"Frank Herbert"}
+                new String[]{"Dune"}, new String[]{"Frank Herbert"}, null, null, null, null
         );
-        Page<Book> bookPage = new PageImpl<>(List.of(book));
+        Slice<Book> bookSlice = new SliceImpl<>(List.of(book));
 
         Specification<Book> spec = Specification.where(null);
 
         when(bookSpecificationBuilder.build(searchParameters)).thenReturn(spec);
-        when(bookRepository.findAll(
-                ArgumentMatchers.<Specification<Book>>any(),
-                any(Pageable.class))
-        ).thenReturn(bookPage);
-        when(bookMapper.toDto(any(Book.class))).thenReturn(bookDto);
+        when(bookRepository.findSlice(eq(spec), any(Pageable.class))).thenReturn(bookSlice);
+        when(bookMapper.toDtoList(anyList(), anyMap())).thenReturn(List.of(bookDto));
 
         Pageable pageable = mock(Pageable.class);
         List<BookDto> result = bookService.search(searchParameters, pageable);
@@ -199,10 +297,147 @@ class BookServiceImplTest {
         assertEquals(1L, result.get(0).getId());
     }
 
+    @Test
+    void search_FreeTextQuery_ShouldReturnBooksInRankOrder() {
+        Book otherBook = new Book();
+        otherBook.setId(2L);
+        BookDto otherBookDto = new BookDto().setId(2L);
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                null, null, "desert planet", null, null, null
+        );
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(bookSearchIndex.search(searchParameters, 0, 10)).thenReturn(List.of(2L, 1L));
+        when(bookRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(book, otherBook));
+        when(bookMapper.toDtoList(eq(List.of(otherBook, book)), anyMap()))
+                .thenReturn(List.of(otherBookDto, bookDto));
+
+        List<BookDto> result = bookService.search(searchParameters, pageable);
+
+        assertEquals(List.of(otherBookDto, bookDto), result);
+        verify(bookSpecificationBuilder, never()).build(any());
+    }
+
+    @Test
+    void findAllByIds_ShouldReadUncachedBooksInOneQueryAndKeepRequestOrder() {
+        Cache cache = mock(Cache.class);
+        BookDto cachedDto = new BookDto().setId(2L).setTitle("Cached");
+        when(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).thenReturn(cache);
+        when(cache.get(2L, BookDto.class)).thenReturn(cachedDto);
+        when(bookRepository.findAllById(List.of(3L, 1L))).thenReturn(List.of(book));
+        when(bookMapper.toDtoList(eq(List.of(book)), anyMap())).thenReturn(List.of(bookDto));
+
+        BookBatchDto result = bookService.findAllByIds(List.of(2L, 3L, 1L, 2L));
+
+        assertEquals(List.of(cachedDto, bookDto), result.books());
+        assertEquals(List.of(3L), result.missingIds());
+        verify(bookRepository, times(1)).getCategoryIdsByBookId(List.of(1L));
+        verify(cache, times(1)).put(1L, bookDto);
+    }
+
+    @Test
+    void findAllByIds_AllCached_ShouldNotQueryDatabase() {
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).thenReturn(cache);
+        when(cache.get(1L, BookDto.class)).thenReturn(bookDto);
+
+        BookBatchDto result = bookService.findAllByIds(List.of(1L));
+
+        assertEquals(List.of(bookDto), result.books());
+        assertEquals(List.of(), result.missingIds());
+        verify(bookRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void searchFaceted_FreeTextQuery_ShouldNarrowFacetsToSearchHits() {
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                null, null, "dune", new Long[]{1L}, null, null
+        );
+        List<Long> hits = List.of(1L, 2L);
+        when(bookSearchIndex.search(any(BookSearchParameters.class), eq(0), anyInt()))
+                .thenReturn(hits);
+        when(bookFacetIndex.search(searchParameters, hits, 0, 10)).thenReturn(
+                new BookFacetIndex.Result(List.of(1L), 1,
+                        List.of(new CategoryFacetDto(1L, 1)), List.of(), List.of()));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(book));
+        when(bookMapper.toDtoList(eq(List.of(book)), anyMap())).thenReturn(List.of(bookDto));
+
+        BookFacetedSearchDto result = bookService.searchFaceted(searchParameters,
+                PageRequest.of(0, 10));
+
+        assertEquals(List.of(bookDto), result.books());
+        assertEquals(1, result.total());
+        assertEquals(List.of(new CategoryFacetDto(1L, 1)), result.categories());
+        verify(bookRepository, never()).findSlice(any(), any());
+    }
+
+    @Test
+    void searchFaceted_NoQuery_ShouldSkipSearchIndex() {
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                null, null, null, null, null, null
+        );
+        when(bookFacetIndex.search(searchParameters, null, 0, 10)).thenReturn(
+                new BookFacetIndex.Result(List.of(), 0, List.of(), List.of(), List.of()));
+
+        BookFacetedSearchDto result = bookService.searchFaceted(searchParameters,
+                PageRequest.of(0, 10));
+
+        assertEquals(0, result.total());
+        verify(bookSearchIndex, never()).search(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void count_ShouldCountMatchingBooks() {
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                new String[]{"Dune"}, null, null, null, null, null
+        );
+        Specification<Book> spec = Specification.where(null);
+        when(bookSpecificationBuilder.build(searchParameters)).thenReturn(spec);
+        when(bookRepository.count(spec)).thenReturn(3L);
+
+        assertEquals(3L, bookService.count(searchParameters));
+        verify(bookSearchIndex, never()).count(any());
+    }
+
+    @Test
+    void count_NullCategoryId_ShouldKeyAndCountLikeWithoutIt() {
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                null, null, null, new Long[]{1L, null}, null, null
+        );
+        Specification<Book> spec = Specification.where(null);
+        when(bookSpecificationBuilder.build(searchParameters)).thenReturn(spec);
+        when(bookRepository.count(spec)).thenReturn(1L);
+
+        assertEquals(new BookSearchParameters(null, null, null, new Long[]{1L}, null, null)
+                .filterKey(), searchParameters.filterKey());
+        assertEquals(1L, bookService.count(searchParameters));
+    }
+
+    @Test
+    void count_FreeTextQuery_ShouldCountIndexHits() {
+        BookSearchParameters searchParameters = new BookSearchParameters(
+                null, null, "dune", null, null, null
+        );
+        when(bookSearchIndex.count(searchParameters)).thenReturn(2);
+
+        assertEquals(2L, bookService.count(searchParameters));
+        verify(bookRepository, never()).count(ArgumentMatchers.<Specification<Book>>any());
+    }
+
+    @Test
+    void evictCounts_ShouldInvalidateCountCache() {
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache(CacheConfig.BOOK_COUNTS_CACHE)).thenReturn(cache);
+
+        bookService.evictCounts();
+
+        verify(cache, times(1)).invalidate();
+    }
+
     @Test
     void findAllByCategoryId_ShouldReturnBooks() {
-        when(bookRepository.findAll()).thenReturn(List.of(book));
-        when(bookMapper.toDtoWithoutCategoriesList(anyList())).thenReturn(List.of(
+        Pageable pageable = PageRequest.of(0, 10);
+        when(bookRepository.findDtosByCategoryId(1L, pageable)).thenReturn(List.of(
                 new BookDtoWithoutCategoryIds(
                         1L, "Dune", "Frank Herbert",
                         "1111111111111", new BigDecimal("9.9900"),
@@ -210,10 +445,11 @@ class BookServiceImplTest {
                 )
         ));
 
-        List<BookDtoWithoutCategoryIds> result = bookService.findAllByCategoryId(1L);
+        List<BookDtoWithoutCategoryIds> result = bookService.findAllByCategoryId(1L, pageable);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).id());
+        verify(bookRepository, never()).findAllByCategoryId(anyLong());
     }
 }
@@ -0,0 +1,86 @@
+package mate.academy.bookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookServiceStatementCountTest {
+    private static final int BOOKS_IN_CATALOG = 30;
+    private static final long FIRST_BOOK_ID = 101L;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (101, 'Fiction'), "
+                + "(102, 'Classics')");
+        List<Object[]> books = new ArrayList<>();
+        List<Object[]> bookCategories = new ArrayList<>();
+        for (long id = FIRST_BOOK_ID; id < FIRST_BOOK_ID + BOOKS_IN_CATALOG; id++) {
+            books.add(new Object[]{id, "Title " + id, "Author " + id,
+                    String.valueOf(1000000000000L + id), new BigDecimal("9.99")});
+            bookCategories.add(new Object[]{id, 101L});
+            bookCategories.add(new Object[]{id, 102L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO book (id, title, author, isbn, price) "
+                + "VALUES (?, ?, ?, ?, ?)", books);
+        jdbcTemplate.batchUpdate("INSERT INTO book_category (book_id, category_id) "
+                + "VALUES (?, ?)", bookCategories);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM book_category");
+        jdbcTemplate.update("DELETE FROM book");
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+
+    @Test
+    @DisplayName("Listing books runs the same statements for any page size")
+    void findAll_GrowingPageSize_ExecutesConstantNumberOfStatements() {
+        long smallPage = countStatements(() -> bookService.findAll(
+                PageRequest.of(0, 5, Sort.by("title"))));
+        long largePage = countStatements(() -> bookService.findAll(
+                PageRequest.of(0, 25, Sort.by("title"))));
+
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    @DisplayName("Cursor pages take one page query and one category id query")
+    void findAllByCursor_GrowingPageSize_ExecutesTwoStatements() {
+        assertEquals(2, countStatements(() -> bookService.findAll(null, 5)));
+        assertEquals(2, countStatements(() -> bookService.findAll(null, 25)));
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,153 @@
+package mate.academy.bookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import mate.academy.bookstore.dto.cartitem.CartItemDto;
+import mate.academy.bookstore.dto.shoppingcart.ShoppingCartDto;
+import mate.academy.bookstore.mapper.ShoppingCartMapper;
+import mate.academy.bookstore.model.ShoppingCart;
+import mate.academy.bookstore.repository.cartitem.CartItemQuantity;
+import mate.academy.bookstore.repository.cartitem.CartItemRepository;
+import mate.academy.bookstore.repository.shoppingcart.ShoppingCartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class CartWriteBehindStoreTest {
+    private static final Long USER_ID = 1L;
+    private static final Long CART_ID = 1L;
+
+    private ShoppingCartRepository shoppingCartRepository;
+    private CartItemRepository cartItemRepository;
+    private MeterRegistry meterRegistry;
+    private CartWriteBehindStore store;
+
+    @BeforeEach
+    void setUp() {
+        shoppingCartRepository = mock(ShoppingCartRepository.class);
+        cartItemRepository = mock(CartItemRepository.class);
+        ShoppingCartMapper shoppingCartMapper = mock(ShoppingCartMapper.class);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new CartWriteBehindStore(shoppingCartRepository, cartItemRepository,
+                shoppingCartMapper, mock(PlatformTransactionManager.class), meterRegistry);
+
+        ShoppingCart shoppingCart = new ShoppingCart();
+        when(shoppingCartRepository.findWithItemsByUserId(USER_ID))
+                .thenReturn(Optional.of(shoppingCart));
+        when(shoppingCartMapper.toDto(shoppingCart)).thenAnswer(invocation -> {
+            ShoppingCartDto cart = new ShoppingCartDto();
+            cart.setId(CART_ID);
+            cart.setUserId(USER_ID);
+            cart.setCartItems(new HashSet<>(Set.of(item(10L, 1L, "Dune", 2),
+                    item(11L, 2L, "The Hobbit", 1))));
+            return cart;
+        });
+    }
+
+    @Test
+    void flushAll_ChurnOnSeveralBooks_ShouldWriteOneRowPerBook() {
+        store.change(USER_ID, cart -> cart.add(1L, "Dune", 1));
+        store.change(USER_ID, cart -> cart.set(2L, "The Hobbit", 3));
+        ShoppingCartDto shoppingCart = store.change(USER_ID, cart -> cart.remove(1L));
+        assertEquals(1, shoppingCart.getCartItems().size());
+
+        store.flushAll();
+
+        Set<CartItemQuantity> expected = Set.of(new CartItemQuantity(CART_ID, 1L, 0),
+                new CartItemQuantity(CART_ID, 2L, 3));
+        verify(cartItemRepository).writeQuantities(
+                argThat(quantities -> expected.equals(new HashSet<>(quantities))));
+        assertEquals(3, meterRegistry.counter("cart.write_behind.mutations").count());
+        assertEquals(2, meterRegistry.counter("cart.write_behind.rows").count());
+    }
+
+    @Test
+    void change_NewBook_ShouldWriteAndReloadCartBeforeReturning() {
+        ShoppingCartDto shoppingCart = store.change(USER_ID,
+                cart -> cart.add(3L, "Emma", 1));
+
+        verify(cartItemRepository).writeQuantities(
+                List.of(new CartItemQuantity(CART_ID, 3L, 1)));
+        verify(shoppingCartRepository, times(2)).findWithItemsByUserId(USER_ID);
+        assertTrue(shoppingCart.getCartItems().stream().allMatch(item -> item.getId() != null));
+    }
+
+    @Test
+    void change_ZeroQuantity_ShouldDropTheBook() {
+        ShoppingCartDto shoppingCart = store.change(USER_ID,
+                cart -> cart.set(1L, "Dune", 0));
+        assertEquals(1, shoppingCart.getCartItems().size());
+
+        store.flushAll();
+
+        verify(cartItemRepository).writeQuantities(
+                List.of(new CartItemQuantity(CART_ID, 1L, 0)));
+    }
+
+    @Test
+    void flushAll_AfterFlush_ShouldReloadCartOnNextAccess() {
+        store.change(USER_ID, cart -> cart.add(1L, "Dune", 1));
+        store.flushAll();
+        store.getCart(USER_ID);
+
+        verify(shoppingCartRepository, times(2)).findWithItemsByUserId(USER_ID);
+    }
+
+    @Test
+    void flushAll_FailedWrite_ShouldKeepChangesForNextFlush() {
+        store.change(USER_ID, cart -> cart.add(1L, "Dune", 1));
+        doThrow(new QueryTimeoutException("timeout"))
+                .doNothing()
+                .when(cartItemRepository).writeQuantities(anyCollection());
+
+        store.flushAll();
+        store.flushAll();
+
+        verify(cartItemRepository, times(2)).writeQuantities(
+                List.of(new CartItemQuantity(CART_ID, 1L, 3)));
+        assertEquals(1, meterRegistry.counter("cart.write_behind.failed_flushes").count());
+    }
+
+    @Test
+    void flushAndEvict_FailedWrite_ShouldThrowException() {
+        store.change(USER_ID, cart -> cart.set(1L, "Dune", 5));
+        doThrow(new QueryTimeoutException("timeout"))
+                .when(cartItemRepository).writeQuantities(anyCollection());
+
+        assertThrows(QueryTimeoutException.class, () -> store.flushAndEvict(USER_ID));
+    }
+
+    @Test
+    void flushAndEvict_CartNotInMemory_ShouldNotWrite() {
+        store.flushAndEvict(USER_ID);
+
+        verify(cartItemRepository, never()).writeQuantities(any());
+    }
+
+    private CartItemDto item(Long id, Long bookId, String bookTitle, int quantity) {
+        CartItemDto item = new CartItemDto();
+        item.setId(id);
+        item.setBookId(bookId);
+        item.setBookTitle(bookTitle);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -11,16 +12,25 @@ import static org.mockito.Mockito.when;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import mate.academy.bookstore.config.CacheConfig;
 import mate.academy.bookstore.dto.category.CategoryDto;
+import mate.academy.bookstore.event.BookChangedEvent;
+import mate.academy.bookstore.event.CategoryChangedEvent;
 import mate.academy.bookstore.exception.EntityNotFoundException;
 import mate.academy.bookstore.mapper.CategoryMapper;
 import mate.academy.bookstore.model.Category;
+import mate.academy.bookstore.repository.book.BookRepository;
+import mate.academy.bookstore.repository.category.CategoryListVersion;
 import mate.academy.bookstore.repository.category.CategoryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 
 class CategoryServiceImplTest {
 
@@ -30,6 +40,18 @@ class CategoryServiceImplTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache booksCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -43,6 +65,7 @@ class CategoryServiceImplTest {
         id = 1L;
         category = new Category();
         categoryDto = new CategoryDto();
+        when(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).thenReturn(booksCache);
     }
 
     @Test
@@ -82,6 +105,24 @@ class CategoryServiceImplTest {
         verify(categoryRepository, times(1)).findById(id);
     }
 
+    @Test
+    void getVersion_InvalidId_ThrowsEntityNotFoundException() {
+        when(categoryRepository.findVersionById(id)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> categoryService.getVersion(id));
+    }
+
+    @Test
+    void getListVersion_ReturnsCountMaxIdAndVersionSum() {
+        CategoryListVersion listVersion = mock(CategoryListVersion.class);
+        when(listVersion.getCount()).thenReturn(3L);
+        when(listVersion.getMaxId()).thenReturn(7L);
+        when(listVersion.getVersionSum()).thenReturn(12L);
+        when(categoryRepository.getListVersion()).thenReturn(listVersion);
+
+        assertEquals("3-7-12", categoryService.getListVersion());
+    }
+
     @Test
     void save_ValidCategoryDto_ReturnsCategoryDto() {
         when(categoryMapper.toEntity(categoryDto)).thenReturn(category);
@@ -126,5 +167,18 @@ class CategoryServiceImplTest {
         categoryService.deleteById(id);
 
         verify(categoryRepository, times(1)).deleteById(id);
+        verify(eventPublisher, times(1)).publishEvent(new CategoryChangedEvent(id));
+    }
+
+    @Test
+    void deleteById_CategoryWithBooks_EvictsAndPublishesBooks() {
+        when(bookRepository.findIdsByCategoryId(id)).thenReturn(List.of(3L, 5L));
+
+        categoryService.deleteById(id);
+
+        verify(booksCache, times(1)).evict(3L);
+        verify(booksCache, times(1)).evict(5L);
+        verify(eventPublisher, times(1)).publishEvent(new BookChangedEvent(Set.of(3L, 5L)));
+        verify(categoryRepository, times(1)).deleteById(id);
     }
 }
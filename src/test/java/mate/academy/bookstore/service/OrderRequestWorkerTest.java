@@ -0,0 +1,80 @@
+package mate.academy.bookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import mate.academy.bookstore.repository.orderrequest.OrderRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class OrderRequestWorkerTest {
+    private OrderRequestRepository orderRequestRepository;
+    private MeterRegistry meterRegistry;
+    private OrderRequestWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        orderRequestRepository = mock(OrderRequestRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new OrderRequestWorker(orderRequestRepository,
+                mock(PlatformTransactionManager.class), meterRegistry, 0, 3, Duration.ZERO);
+    }
+
+    @Test
+    void processBatch_QueuedRequests_ShouldFulfilThemWithSetBasedStatements() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(orderRequestRepository.lockQueuedIds(3)).thenReturn(ids);
+
+        assertEquals(3, worker.processBatch());
+
+        InOrder order = inOrder(orderRequestRepository);
+        order.verify(orderRequestRepository).insertOrders(ids);
+        order.verify(orderRequestRepository).insertOrderItems(ids);
+        order.verify(orderRequestRepository).deleteItems(ids);
+        order.verify(orderRequestRepository).markCompleted(ids);
+        assertEquals(3, meterRegistry.counter("order.requests.completed").count());
+    }
+
+    @Test
+    void processBatch_FailingRequest_ShouldMarkOnlyThatRequestFailed() {
+        when(orderRequestRepository.lockQueuedIds(3)).thenReturn(List.of(1L, 2L));
+        when(orderRequestRepository.lockQueuedIds(1))
+                .thenReturn(List.of(1L), List.of(2L), List.of());
+        when(orderRequestRepository.insertOrders(List.of(1L, 2L)))
+                .thenThrow(new DataIntegrityViolationException("fk_order_user"));
+        when(orderRequestRepository.insertOrders(List.of(2L)))
+                .thenThrow(new DataIntegrityViolationException("fk_order_user"));
+
+        assertEquals(2, worker.processBatch());
+
+        verify(orderRequestRepository).markCompleted(List.of(1L));
+        verify(orderRequestRepository).markFailed(2L, OrderRequestWorker.FAILURE_REASON);
+        verify(orderRequestRepository, never()).markFailed(1L, OrderRequestWorker.FAILURE_REASON);
+        assertEquals(1, meterRegistry.counter("order.requests.completed").count());
+        assertEquals(1, meterRegistry.counter("order.requests.failed").count());
+    }
+
+    @Test
+    void processBatch_EmptyQueue_ShouldNotWrite() {
+        when(orderRequestRepository.lockQueuedIds(3)).thenReturn(List.of());
+
+        assertEquals(0, worker.processBatch());
+
+        verify(orderRequestRepository, never()).insertOrders(anyCollection());
+        verify(orderRequestRepository, never()).markFailed(anyLong(), anyString());
+    }
+}
@@ -0,0 +1,139 @@
+package mate.academy.bookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import mate.academy.bookstore.dto.order.OrderCursor;
+import mate.academy.bookstore.dto.order.OrderCursorPageDto;
+import mate.academy.bookstore.dto.order.OrderDto;
+import mate.academy.bookstore.dto.orderitem.OrderItemDto;
+import mate.academy.bookstore.exception.InvalidCursorException;
+import mate.academy.bookstore.mapper.OrderItemMapper;
+import mate.academy.bookstore.mapper.OrderMapper;
+import mate.academy.bookstore.model.Order;
+import mate.academy.bookstore.repository.order.OrderRepository;
+import mate.academy.bookstore.repository.orderitem.OrderItemRepository;
+import mate.academy.bookstore.repository.orderitem.OrderItemView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+class OrderServiceImplTest {
+    private static final Long USER_ID = 1L;
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 3, 8, 17, 53, 5);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(orderMapper.toDtoWithoutItems(any())).thenAnswer(invocation -> {
+            OrderDto orderDto = new OrderDto();
+            orderDto.setId(invocation.<Order>getArgument(0).getId());
+            return orderDto;
+        });
+        when(orderItemMapper.toDto(any(OrderItemView.class))).thenAnswer(invocation -> {
+            OrderItemDto itemDto = new OrderItemDto();
+            itemDto.setId(invocation.<OrderItemView>getArgument(0).getId());
+            return itemDto;
+        });
+    }
+
+    @Test
+    void getOrders_NoOrders_ShouldReturnEmptyPage() {
+        when(orderRepository.findPage(USER_ID, null, Limit.of(21))).thenReturn(List.of());
+
+        OrderCursorPageDto page = orderService.getOrders(USER_ID, null, null, 20);
+
+        assertTrue(page.orders().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getOrders_MoreThanPage_ShouldReturnCursorOfLastOrderOnPage() {
+        when(orderRepository.findPage(USER_ID, Order.Status.PENDING, Limit.of(3)))
+                .thenReturn(List.of(order(3L, ORDER_DATE), order(2L, ORDER_DATE),
+                        order(1L, ORDER_DATE.minusDays(1))));
+
+        OrderCursorPageDto page = orderService.getOrders(USER_ID, Order.Status.PENDING,
+                null, 2);
+
+        assertEquals(2, page.orders().size());
+        assertEquals(new OrderCursor(ORDER_DATE, 2L), OrderCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void getOrders_WithCursor_ShouldContinueAfterIt() {
+        String cursor = new OrderCursor(ORDER_DATE, 2L).encode();
+        when(orderRepository.findPageAfter(USER_ID, null, ORDER_DATE, 2L, Limit.of(3)))
+                .thenReturn(List.of(order(1L, ORDER_DATE.minusDays(1))));
+
+        OrderCursorPageDto page = orderService.getOrders(USER_ID, null, cursor, 2);
+
+        assertEquals(1, page.orders().size());
+        assertNull(page.nextCursor());
+        verify(orderRepository).findPageAfter(USER_ID, null, ORDER_DATE, 2L, Limit.of(3));
+    }
+
+    @Test
+    void getOrders_SeveralOrders_ShouldReadAllItemsInOneQuery() {
+        when(orderRepository.findPage(USER_ID, null, Limit.of(3)))
+                .thenReturn(List.of(order(2L, ORDER_DATE), order(1L, ORDER_DATE)));
+        List<OrderItemView> items = List.of(item(10L, 1L), item(11L, 1L), item(12L, 2L));
+        when(orderItemRepository.findViewsByOrderIds(List.of(2L, 1L))).thenReturn(items);
+
+        OrderCursorPageDto page = orderService.getOrders(USER_ID, null, null, 2);
+
+        assertEquals(1, page.orders().get(0).getOrderItems().size());
+        assertEquals(2, page.orders().get(1).getOrderItems().size());
+        verify(orderItemRepository).findViewsByOrderIds(anyList());
+    }
+
+    @Test
+    void getOrders_MalformedCursor_ShouldThrow() {
+        assertThrows(InvalidCursorException.class,
+                () -> orderService.getOrders(USER_ID, null, "not a cursor", 2));
+        verify(orderRepository, never())
+                .findPage(any(), any(), any());
+    }
+
+    private Order order(Long id, LocalDateTime orderDate) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderDate(orderDate);
+        return order;
+    }
+
+    private OrderItemView item(Long id, Long orderId) {
+        OrderItemView item = mock(OrderItemView.class);
+        when(item.getId()).thenReturn(id);
+        when(item.getOrderId()).thenReturn(orderId);
+        return item;
+    }
+}
@@ -0,0 +1,108 @@
+package mate.academy.bookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import mate.academy.bookstore.dto.order.CreateOrderRequestDto;
+import mate.academy.bookstore.dto.order.OrderDto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql(scripts = "classpath:mate/academy/bookstore/database/carts/add-carts.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:mate/academy/bookstore/database/carts/remove-carts.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class OrderServiceStatementCountTest {
+    private static final long SMALL_CART_USER_ID = 101L;
+    private static final long LARGE_CART_USER_ID = 102L;
+    private static final long FIRST_BOOK_ID = 101L;
+    private static final int LARGE_CART_ITEMS = 100;
+    private static final long FIRST_ORDER_ID = 1001L;
+    private static final int LARGE_HISTORY_ORDERS = 50;
+    private static final int ITEMS_PER_ORDER = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Checkout runs the same statements for a cart of 1 or 100 items")
+    void createOrder_GrowingCart_ExecutesConstantNumberOfStatements() {
+        long smallCart = countStatements(SMALL_CART_USER_ID, 1);
+        long largeCart = countStatements(LARGE_CART_USER_ID, LARGE_CART_ITEMS);
+
+        assertEquals(smallCart, largeCart);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_items",
+                Integer.class));
+    }
+
+    @Test
+    @DisplayName("Order history runs the same statements for 1 or 50 orders of 5 items")
+    void getOrders_GrowingHistory_ExecutesConstantNumberOfStatements() {
+        insertOrders(SMALL_CART_USER_ID, FIRST_ORDER_ID, 1);
+        insertOrders(LARGE_CART_USER_ID, FIRST_ORDER_ID + 1, LARGE_HISTORY_ORDERS);
+
+        long smallHistory = countHistoryStatements(SMALL_CART_USER_ID, 1);
+        long largeHistory = countHistoryStatements(LARGE_CART_USER_ID, LARGE_HISTORY_ORDERS);
+
+        assertEquals(smallHistory, largeHistory);
+    }
+
+    private void insertOrders(long userId, long firstOrderId, int count) {
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> orderItems = new ArrayList<>();
+        for (long id = firstOrderId; id < firstOrderId + count; id++) {
+            orders.add(new Object[]{id, userId});
+            for (long bookId = FIRST_BOOK_ID; bookId < FIRST_BOOK_ID + ITEMS_PER_ORDER;
+                    bookId++) {
+                orderItems.add(new Object[]{id, bookId});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, user_id, status, total, order_date, "
+                + "shipping_address) VALUES (?, ?, 'PENDING', 49.95, NOW(), 'Kyiv')", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO order_items (order_id, book_id, quantity, price) "
+                + "VALUES (?, ?, 1, 9.99)", orderItems);
+    }
+
+    private long countHistoryStatements(long userId, int expectedOrders) {
+        statistics.clear();
+        List<OrderDto> orders = orderService.getOrders(userId, null, null, 100).orders();
+        assertEquals(expectedOrders, orders.size());
+        orders.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getOrderItems().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long countStatements(long userId, int expectedItems) {
+        CreateOrderRequestDto requestDto = new CreateOrderRequestDto();
+        requestDto.setShippingAddress("Kyiv, Shevchenka 1");
+        statistics.clear();
+        OrderDto order = orderService.createOrder(userId, requestDto);
+        assertEquals(expectedItems, order.getOrderItems().size());
+        assertEquals(new BigDecimal("19.98").multiply(BigDecimal.valueOf(expectedItems)),
+                order.getTotal().setScale(2));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,134 @@
+package mate.academy.bookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import mate.academy.bookstore.dto.cartitem.CartBatchRequestDto;
+import mate.academy.bookstore.dto.cartitem.CartItemOperationDto;
+import mate.academy.bookstore.dto.cartitem.CreateCartItemRequestDto;
+import mate.academy.bookstore.dto.shoppingcart.ShoppingCartDto;
+import mate.academy.bookstore.exception.EntityNotFoundException;
+import mate.academy.bookstore.mapper.ShoppingCartMapper;
+import mate.academy.bookstore.model.ShoppingCart;
+import mate.academy.bookstore.repository.book.BookRepository;
+import mate.academy.bookstore.repository.cartitem.CartItemRepository;
+import mate.academy.bookstore.repository.shoppingcart.ShoppingCartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class ShoppingCartServiceImplTest {
+    private static final Long USER_ID = 1L;
+    private static final Long BOOK_ID = 2L;
+
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private ShoppingCartMapper shoppingCartMapper;
+
+    @InjectMocks
+    private ShoppingCartServiceImpl shoppingCartService;
+
+    private CreateCartItemRequestDto requestDto;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        requestDto = new CreateCartItemRequestDto();
+        requestDto.setBookId(BOOK_ID);
+        requestDto.setQuantity(3);
+    }
+
+    @Test
+    void addItemToCart_ExistingCartAndBook_ShouldUpsertAndReturnCart() {
+        ShoppingCart shoppingCart = new ShoppingCart();
+        ShoppingCartDto expected = new ShoppingCartDto();
+        when(cartItemRepository.upsertQuantity(USER_ID, BOOK_ID, 3)).thenReturn(2);
+        when(shoppingCartRepository.findWithItemsByUserId(USER_ID))
+                .thenReturn(Optional.of(shoppingCart));
+        when(shoppingCartMapper.toDto(shoppingCart)).thenReturn(expected);
+
+        assertSame(expected, shoppingCartService.addItemToCart(requestDto, USER_ID));
+    }
+
+    @Test
+    void addItemToCart_MissingBook_ShouldThrowException() {
+        when(cartItemRepository.upsertQuantity(USER_ID, BOOK_ID, 3)).thenReturn(0);
+        when(bookRepository.existsById(BOOK_ID)).thenReturn(false);
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartService.addItemToCart(requestDto, USER_ID));
+        assertEquals("Book not found for id 2", exception.getMessage());
+    }
+
+    @Test
+    void addItemToCart_MissingCart_ShouldThrowException() {
+        when(cartItemRepository.upsertQuantity(USER_ID, BOOK_ID, 3)).thenReturn(0);
+        when(bookRepository.existsById(BOOK_ID)).thenReturn(true);
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartService.addItemToCart(requestDto, USER_ID));
+        assertEquals("Shopping cart not found for user id 1", exception.getMessage());
+    }
+
+    @Test
+    void applyBatch_RepeatedBooks_ShouldWriteOneNetChangePerBook() {
+        final CartBatchRequestDto batch = new CartBatchRequestDto().setOperations(List.of(
+                operation(CartItemOperationDto.Action.ADD, 2L, 1),
+                operation(CartItemOperationDto.Action.ADD, 2L, 2),
+                operation(CartItemOperationDto.Action.REMOVE, 3L, null),
+                operation(CartItemOperationDto.Action.ADD, 3L, 4),
+                operation(CartItemOperationDto.Action.ADD, 4L, 1),
+                operation(CartItemOperationDto.Action.REMOVE, 4L, null)));
+        when(shoppingCartRepository.findIdByUserId(USER_ID)).thenReturn(Optional.of(10L));
+        when(bookRepository.findExistingIds(Set.of(2L, 3L))).thenReturn(Set.of(2L, 3L));
+        when(shoppingCartRepository.findWithItemsByUserId(USER_ID))
+                .thenReturn(Optional.of(new ShoppingCart()));
+
+        shoppingCartService.applyBatch(batch, USER_ID);
+
+        verify(cartItemRepository).deleteByShoppingCartIdAndBookIds(10L, Set.of(4L));
+        verify(cartItemRepository).setQuantities(10L, Map.of(3L, 4));
+        verify(cartItemRepository).addQuantities(10L, Map.of(2L, 3));
+    }
+
+    @Test
+    void applyBatch_MissingBook_ShouldNotWrite() {
+        final CartBatchRequestDto batch = new CartBatchRequestDto().setOperations(List.of(
+                operation(CartItemOperationDto.Action.ADD, 2L, 1),
+                operation(CartItemOperationDto.Action.UPDATE, 5L, 1)));
+        when(shoppingCartRepository.findIdByUserId(USER_ID)).thenReturn(Optional.of(10L));
+        when(bookRepository.findExistingIds(Set.of(2L, 5L))).thenReturn(Set.of(2L));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartService.applyBatch(batch, USER_ID));
+        assertEquals("Books not found for ids [5]", exception.getMessage());
+        verify(cartItemRepository, never()).addQuantities(any(), any());
+    }
+
+    private CartItemOperationDto operation(CartItemOperationDto.Action action, Long bookId,
+                                           Integer quantity) {
+        return new CartItemOperationDto()
+                .setAction(action)
+                .setBookId(bookId)
+                .setQuantity(quantity);
+    }
+}
@@ -0,0 +1,52 @@
+package mate.academy.bookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.persistence.EntityManagerFactory;
+import mate.academy.bookstore.dto.shoppingcart.ShoppingCartDto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql(scripts = "classpath:mate/academy/bookstore/database/carts/add-carts.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:mate/academy/bookstore/database/carts/remove-carts.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ShoppingCartStatementCountTest {
+    private static final long SMALL_CART_USER_ID = 101L;
+    private static final long LARGE_CART_USER_ID = 102L;
+    private static final int LARGE_CART_ITEMS = 100;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("A cart of 1 or 100 items is read with one statement")
+    void getShoppingCartForUser_AnyCartSize_ExecutesOneStatement() {
+        assertEquals(1, countStatements(SMALL_CART_USER_ID, 1));
+        assertEquals(1, countStatements(LARGE_CART_USER_ID, LARGE_CART_ITEMS));
+    }
+
+    private long countStatements(long userId, int expectedItems) {
+        statistics.clear();
+        ShoppingCartDto cart = shoppingCartService.getShoppingCartForUser(userId);
+        assertEquals(expectedItems, cart.getCartItems().size());
+        return statistics.getPrepareStatementCount();
+    }
+}
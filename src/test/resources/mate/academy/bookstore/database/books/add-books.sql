@@ -1,3 +1,4 @@
 INSERT INTO book (id, title, author, isbn, price, description, cover_image) VALUES
 (1, 'Dune', 'Frank Herbert', '1111111111111', 9.99, 'Science', 'dune.jpg'),
 (2, 'The Hobbit', 'Tolkien', '2222222222222', 8.99, 'Fantasy', 'hobbit.jpg');
+UPDATE id_generators SET next_val = GREATEST(next_val, 100) WHERE name = 'book';
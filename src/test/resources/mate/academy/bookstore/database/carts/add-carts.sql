@@ -0,0 +1,207 @@
+INSERT INTO book (id, title, author, isbn, price) VALUES
+(101, 'Title 101', 'Author 101', '1000000000101', 9.99),
+(102, 'Title 102', 'Author 102', '1000000000102', 9.99),
+(103, 'Title 103', 'Author 103', '1000000000103', 9.99),
+(104, 'Title 104', 'Author 104', '1000000000104', 9.99),
+(105, 'Title 105', 'Author 105', '1000000000105', 9.99),
+(106, 'Title 106', 'Author 106', '1000000000106', 9.99),
+(107, 'Title 107', 'Author 107', '1000000000107', 9.99),
+(108, 'Title 108', 'Author 108', '1000000000108', 9.99),
+(109, 'Title 109', 'Author 109', '1000000000109', 9.99),
+(110, 'Title 110', 'Author 110', '1000000000110', 9.99),
+(111, 'Title 111', 'Author 111', '1000000000111', 9.99),
+(112, 'Title 112', 'Author 112', '1000000000112', 9.99),
+(113, 'Title 113', 'Author 113', '1000000000113', 9.99),
+(114, 'Title 114', 'Author 114', '1000000000114', 9.99),
+(115, 'Title 115', 'Author 115', '1000000000115', 9.99),
+(116, 'Title 116', 'Author 116', '1000000000116', 9.99),
+(117, 'Title 117', 'Author 117', '1000000000117', 9.99),
+(118, 'Title 118', 'Author 118', '1000000000118', 9.99),
+(119, 'Title 119', 'Author 119', '1000000000119', 9.99),
+(120, 'Title 120', 'Author 120', '1000000000120', 9.99),
+(121, 'Title 121', 'Author 121', '1000000000121', 9.99),
+(122, 'Title 122', 'Author 122', '1000000000122', 9.99),
+(123, 'Title 123', 'Author 123', '1000000000123', 9.99),
+(124, 'Title 124', 'Author 124', '1000000000124', 9.99),
+(125, 'Title 125', 'Author 125', '1000000000125', 9.99),
+(126, 'Title 126', 'Author 126', '1000000000126', 9.99),
+(127, 'Title 127', 'Author 127', '1000000000127', 9.99),
+(128, 'Title 128', 'Author 128', '1000000000128', 9.99),
+(129, 'Title 129', 'Author 129', '1000000000129', 9.99),
+(130, 'Title 130', 'Author 130', '1000000000130', 9.99),
+(131, 'Title 131', 'Author 131', '1000000000131', 9.99),
+(132, 'Title 132', 'Author 132', '1000000000132', 9.99),
+(133, 'Title 133', 'Author 133', '1000000000133', 9.99),
+(134, 'Title 134', 'Author 134', '1000000000134', 9.99),
+(135, 'Title 135', 'Author 135', '1000000000135', 9.99),
+(136, 'Title 136', 'Author 136', '1000000000136', 9.99),
+(137, 'Title 137', 'Author 137', '1000000000137', 9.99),
+(138, 'Title 138', 'Author 138', '1000000000138', 9.99),
+(139, 'Title 139', 'Author 139', '1000000000139', 9.99),
+(140, 'Title 140', 'Author 140', '1000000000140', 9.99),
+(141, 'Title 141', 'Author 141', '1000000000141', 9.99),
+(142, 'Title 142', 'Author 142', '1000000000142', 9.99),
+(143, 'Title 143', 'Author 143', '1000000000143', 9.99),
+(144, 'Title 144', 'Author 144', '1000000000144', 9.99),
+(145, 'Title 145', 'Author 145', '1000000000145', 9.99),
+(146, 'Title 146', 'Author 146', '1000000000146', 9.99),
+(147, 'Title 147', 'Author 147', '1000000000147', 9.99),
+(148, 'Title 148', 'Author 148', '1000000000148', 9.99),
+(149, 'Title 149', 'Author 149', '1000000000149', 9.99),
+(150, 'Title 150', 'Author 150', '1000000000150', 9.99),
+(151, 'Title 151', 'Author 151', '1000000000151', 9.99),
+(152, 'Title 152', 'Author 152', '1000000000152', 9.99),
+(153, 'Title 153', 'Author 153', '1000000000153', 9.99),
+(154, 'Title 154', 'Author 154', '1000000000154', 9.99),
+(155, 'Title 155', 'Author 155', '1000000000155', 9.99),
+(156, 'Title 156', 'Author 156', '1000000000156', 9.99),
+(157, 'Title 157', 'Author 157', '1000000000157', 9.99),
+(158, 'Title 158', 'Author 158', '1000000000158', 9.99),
+(159, 'Title 159', 'Author 159', '1000000000159', 9.99),
+(160, 'Title 160', 'Author 160', '1000000000160', 9.99),
+(161, 'Title 161', 'Author 161', '1000000000161', 9.99),
+(162, 'Title 162', 'Author 162', '1000000000162', 9.99),
+(163, 'Title 163', 'Author 163', '1000000000163', 9.99),
+(164, 'Title 164', 'Author 164', '1000000000164', 9.99),
+(165, 'Title 165', 'Author 165', '1000000000165', 9.99),
+(166, 'Title 166', 'Author 166', '1000000000166', 9.99),
+(167, 'Title 167', 'Author 167', '1000000000167', 9.99),
+(168, 'Title 168', 'Author 168', '1000000000168', 9.99),
+(169, 'Title 169', 'Author 169', '1000000000169', 9.99),
+(170, 'Title 170', 'Author 170', '1000000000170', 9.99),
+(171, 'Title 171', 'Author 171', '1000000000171', 9.99),
+(172, 'Title 172', 'Author 172', '1000000000172', 9.99),
+(173, 'Title 173', 'Author 173', '1000000000173', 9.99),
+(174, 'Title 174', 'Author 174', '1000000000174', 9.99),
+(175, 'Title 175', 'Author 175', '1000000000175', 9.99),
+(176, 'Title 176', 'Author 176', '1000000000176', 9.99),
+(177, 'Title 177', 'Author 177', '1000000000177', 9.99),
+(178, 'Title 178', 'Author 178', '1000000000178', 9.99),
+(179, 'Title 179', 'Author 179', '1000000000179', 9.99),
+(180, 'Title 180', 'Author 180', '1000000000180', 9.99),
+(181, 'Title 181', 'Author 181', '1000000000181', 9.99),
+(182, 'Title 182', 'Author 182', '1000000000182', 9.99),
+(183, 'Title 183', 'Author 183', '1000000000183', 9.99),
+(184, 'Title 184', 'Author 184', '1000000000184', 9.99),
+(185, 'Title 185', 'Author 185', '1000000000185', 9.99),
+(186, 'Title 186', 'Author 186', '1000000000186', 9.99),
+(187, 'Title 187', 'Author 187', '1000000000187', 9.99),
+(188, 'Title 188', 'Author 188', '1000000000188', 9.99),
+(189, 'Title 189', 'Author 189', '1000000000189', 9.99),
+(190, 'Title 190', 'Author 190', '1000000000190', 9.99),
+(191, 'Title 191', 'Author 191', '1000000000191', 9.99),
+(192, 'Title 192', 'Author 192', '1000000000192', 9.99),
+(193, 'Title 193', 'Author 193', '1000000000193', 9.99),
+(194, 'Title 194', 'Author 194', '1000000000194', 9.99),
+(195, 'Title 195', 'Author 195', '1000000000195', 9.99),
+(196, 'Title 196', 'Author 196', '1000000000196', 9.99),
+(197, 'Title 197', 'Author 197', '1000000000197', 9.99),
+(198, 'Title 198', 'Author 198', '1000000000198', 9.99),
+(199, 'Title 199', 'Author 199', '1000000000199', 9.99),
+(200, 'Title 200', 'Author 200', '1000000000200', 9.99);
+INSERT INTO users (id, email, password, first_name, last_name) VALUES
+(101, 'cart101@example.com', 'password', 'First', 'Last'),
+(102, 'cart102@example.com', 'password', 'First', 'Last');
+INSERT INTO shopping_carts (id, user_id) VALUES (101, 101), (102, 102);
+INSERT INTO cart_items (shopping_cart_id, book_id, quantity) VALUES
+(101, 101, 2),
+(102, 101, 2),
+(102, 102, 2),
+(102, 103, 2),
+(102, 104, 2),
+(102, 105, 2),
+(102, 106, 2),
+(102, 107, 2),
+(102, 108, 2),
+(102, 109, 2),
+(102, 110, 2),
+(102, 111, 2),
+(102, 112, 2),
+(102, 113, 2),
+(102, 114, 2),
+(102, 115, 2),
+(102, 116, 2),
+(102, 117, 2),
+(102, 118, 2),
+(102, 119, 2),
+(102, 120, 2),
+(102, 121, 2),
+(102, 122, 2),
+(102, 123, 2),
+(102, 124, 2),
+(102, 125, 2),
+(102, 126, 2),
+(102, 127, 2),
+(102, 128, 2),
+(102, 129, 2),
+(102, 130, 2),
+(102, 131, 2),
+(102, 132, 2),
+(102, 133, 2),
+(102, 134, 2),
+(102, 135, 2),
+(102, 136, 2),
+(102, 137, 2),
+(102, 138, 2),
+(102, 139, 2),
+(102, 140, 2),
+(102, 141, 2),
+(102, 142, 2),
+(102, 143, 2),
+(102, 144, 2),
+(102, 145, 2),
+(102, 146, 2),
+(102, 147, 2),
+(102, 148, 2),
+(102, 149, 2),
+(102, 150, 2),
+(102, 151, 2),
+(102, 152, 2),
+(102, 153, 2),
+(102, 154, 2),
+(102, 155, 2),
+(102, 156, 2),
+(102, 157, 2),
+(102, 158, 2),
+(102, 159, 2),
+(102, 160, 2),
+(102, 161, 2),
+(102, 162, 2),
+(102, 163, 2),
+(102, 164, 2),
+(102, 165, 2),
+(102, 166, 2),
+(102, 167, 2),
+(102, 168, 2),
+(102, 169, 2),
+(102, 170, 2),
+(102, 171, 2),
+(102, 172, 2),
+(102, 173, 2),
+(102, 174, 2),
+(102, 175, 2),
+(102, 176, 2),
+(102, 177, 2),
+(102, 178, 2),
+(102, 179, 2),
+(102, 180, 2),
+(102, 181, 2),
+(102, 182, 2),
+(102, 183, 2),
+(102, 184, 2),
+(102, 185, 2),
+(102, 186, 2),
+(102, 187, 2),
+(102, 188, 2),
+(102, 189, 2),
+(102, 190, 2),
+(102, 191, 2),
+(102, 192, 2),
+(102, 193, 2),
+(102, 194, 2),
+(102, 195, 2),
+(102, 196, 2),
+(102, 197, 2),
+(102, 198, 2),
+(102, 199, 2),
+(102, 200, 2);
@@ -0,0 +1,6 @@
+DELETE FROM order_items;
+DELETE FROM orders;
+DELETE FROM cart_items;
+DELETE FROM shopping_carts;
+DELETE FROM users;
+DELETE FROM book;
@@ -1,3 +1,4 @@
 INSERT INTO categories (id, name, description) VALUES (1, 'Science Fiction', 'good');
 INSERT INTO categories (id, name, description) VALUES (2, 'Fantasy', 'good');
 INSERT INTO categories (id, name, description) VALUES (3, 'Mystery', 'good');
+UPDATE id_generators SET next_val = GREATEST(next_val, 100) WHERE name = 'categories';